@@ -0,0 +1,24 @@
+package com.game.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs JMH with its usual command line, but writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE} unless {@code -rf} or {@code -rff} choose otherwise, so that every
+ * run leaves a file {@link ResultComparison} can compare.
+ */
+public final class BenchmarkMain {
+
+	static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+	private BenchmarkMain() {}
+
+	public static void main(String[] args) throws Exception {
+		List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (!arguments.contains("-rf")) arguments.addAll(Arrays.asList("-rf", "json"));
+		if (!arguments.contains("-rff")) arguments.addAll(Arrays.asList("-rff", DEFAULT_RESULT_FILE));
+		org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+	}
+}
@@ -0,0 +1,74 @@
+package com.game.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.service.index.TopK;
+
+/**
+ * One page out of {@code players} matching slots: the bounded heap of {@link TopK} against
+ * sorting every match and cutting the page out, as the index did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PageSelectionBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"100000", "1000000", "10000000"})
+	int players;
+
+	@Param({"0", "50"})
+	int pageNumber;
+
+	/** Sort key of every slot, like an experience column. */
+	private int[] keys;
+	private TopK.SlotComparator comparator;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		keys = new int[players];
+		for (int slot = 0; slot < players; slot++) keys[slot] = random.nextInt(10_000_000);
+		comparator = (a, b) -> {
+			int byKey = Integer.compare(keys[a], keys[b]);
+			return byKey != 0 ? byKey : Integer.compare(a, b);
+		};
+	}
+
+	@Benchmark
+	public int[] topK() {
+		int offset = pageNumber * PAGE_SIZE;
+		TopK topK = new TopK(offset + PAGE_SIZE, comparator);
+		for (int slot = 0; slot < players; slot++) topK.offer(slot);
+		return topK.window(offset);
+	}
+
+	@Benchmark
+	public List<Integer> fullSort() {
+		int offset = pageNumber * PAGE_SIZE;
+		List<Integer> slots = new ArrayList<>(players);
+		for (int slot = 0; slot < players; slot++) slots.add(slot);
+		slots.sort(comparator::compare);
+		return slots.subList(offset, offset + PAGE_SIZE);
+	}
+}
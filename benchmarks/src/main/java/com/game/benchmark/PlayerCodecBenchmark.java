@@ -0,0 +1,82 @@
+package com.game.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.game.config.WebConfig;
+import com.game.entity.Player;
+import com.game.json.PlayerJsonModule;
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerService;
+
+/**
+ * JSON of a page of players through the hand-written {@link PlayerJsonModule} codec against the
+ * field-access bean codec that {@link WebConfig} used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PlayerCodecBenchmark {
+
+	@Param({"reflective", "codec"})
+	String codec;
+
+	@Param({"20", "1000"})
+	int pageSize;
+
+	private List<Player> page;
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private byte[] json;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		try (PlayerDataset dataset = new PlayerDataset(pageSize)) {
+			page = dataset.getBean(PlayerService.class).getPlayers(PlayerQuery.builder().pageSize(pageSize).build());
+		}
+		ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+		if (codec.equals("codec")) WebConfig.configure(mapper);
+		else {
+			mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+			mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+		}
+		JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, Player.class);
+		writer = mapper.writerFor(type);
+		reader = mapper.readerFor(type);
+		json = writer.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return writer.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public List<Player> deserialize() throws Exception {
+		return reader.readValue(json);
+	}
+}
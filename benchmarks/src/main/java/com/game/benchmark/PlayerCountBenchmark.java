@@ -0,0 +1,64 @@
+package com.game.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerService;
+
+/**
+ * {@link PlayerService#getCount} for every {@link PlayerFilter} on both search engines. The
+ * order does not change a count, so unlike {@link PlayerSearchBenchmark} it is not a parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PlayerCountBenchmark {
+
+	@Param({"10000", "100000", "1000000", "10000000"})
+	int players;
+
+	@Param({"index", "database"})
+	String engine;
+
+	@Param
+	PlayerFilter filter;
+
+	private PlayerDataset dataset;
+	private PlayerService service;
+	private PlayerQuery query;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataset = new PlayerDataset(players, engine);
+		service = dataset.getBean(PlayerService.class);
+		query = filter.apply(PlayerQuery.builder()).build();
+		service.getCount(query);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataset.close();
+	}
+
+	@Benchmark
+	public int getCount() {
+		return service.getCount(query);
+	}
+}
@@ -0,0 +1,60 @@
+package com.game.benchmark;
+
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+import com.game.config.AppConfig;
+import com.game.config.WebConfig;
+import com.game.service.PlayerService;
+import com.game.testdata.SyntheticPlayers;
+
+/**
+ * Boots the application context on the embedded H2 "dev" profile and fills the player table
+ * with a reproducible synthetic dataset of the requested size. The search engine is the one of
+ * application.properties unless another one is given.
+ */
+public final class PlayerDataset implements AutoCloseable {
+
+	private final AnnotationConfigWebApplicationContext context;
+	private final int size;
+
+	public PlayerDataset(int size) {
+		this(size, null);
+	}
+
+	public PlayerDataset(int size, String searchEngine) {
+		this.size = size;
+		context = new AnnotationConfigWebApplicationContext();
+		context.setServletContext(new MockServletContext());
+		context.getEnvironment().setActiveProfiles("dev");
+		if (searchEngine != null) {
+			context.getEnvironment().getPropertySources().addFirst(
+					new MapPropertySource("benchmark", Collections.singletonMap("search.engine", searchEngine)));
+		}
+		context.register(AppConfig.class, WebConfig.class);
+		context.refresh();
+		SyntheticPlayers.insert(context.getBean(DataSource.class), size);
+		context.getBean(PlayerService.class).refresh();
+	}
+
+	public <T> T getBean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void close() {
+		// the dev database is kept alive for the lifetime of the pool, drop it before the next trial
+		new JdbcTemplate(context.getBean(DataSource.class)).execute("SHUTDOWN");
+		context.close();
+	}
+}
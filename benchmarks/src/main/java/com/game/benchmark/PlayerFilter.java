@@ -0,0 +1,91 @@
+package com.game.benchmark;
+
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerQuery;
+
+/**
+ * The filter shapes of the search benchmarks, against the values of {@link PlayerDataset}: no
+ * filter, every filter parameter on its own, the pairs the UI sends most, and all of them at once.
+ * Selectivity ranges from every player to a handful.
+ */
+public enum PlayerFilter {
+	NONE {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query;
+		}
+	},
+	NAME {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.name("гор");
+		}
+	},
+	TITLE {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.title("драк");
+		}
+	},
+	RACE {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.race(Race.ELF);
+		}
+	},
+	PROFESSION {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.profession(Profession.WARRIOR);
+		}
+	},
+	BIRTHDAY {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.after(BIRTHDAY_FROM).before(BIRTHDAY_TO);
+		}
+	},
+	BANNED {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.banned(true);
+		}
+	},
+	EXPERIENCE {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.minExperience(1_000_000).maxExperience(3_000_000);
+		}
+	},
+	LEVEL {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.minLevel(100).maxLevel(200);
+		}
+	},
+	RACE_PROFESSION {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.race(Race.ELF).profession(Profession.WARRIOR);
+		}
+	},
+	NAME_LEVEL {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.name("гор").minLevel(100).maxLevel(200);
+		}
+	},
+	ALL {
+		@Override
+		PlayerQuery.Builder apply(PlayerQuery.Builder query) {
+			return query.name("а").title("р").race(Race.ELF).profession(Profession.WARRIOR).after(BIRTHDAY_FROM).before(BIRTHDAY_TO)
+					.banned(false).minExperience(1_000_000).maxExperience(9_000_000).minLevel(100).maxLevel(400);
+		}
+	};
+
+	private static final long BIRTHDAY_FROM = 1041379200000L; // 2003-01-01
+	private static final long BIRTHDAY_TO = 1136073600000L; // 2006-01-01
+
+	abstract PlayerQuery.Builder apply(PlayerQuery.Builder query);
+}
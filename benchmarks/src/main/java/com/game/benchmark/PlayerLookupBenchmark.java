@@ -0,0 +1,72 @@
+package com.game.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.entity.Player;
+import com.game.repository.PlayerRepository;
+import com.game.service.PlayerService;
+
+/**
+ * Point lookup by id: the primary key path used by {@link PlayerService#getPlayerById} against
+ * the full-table scan it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PlayerLookupBenchmark {
+
+	@Param({"10000", "1000000", "10000000"})
+	int players;
+
+	private PlayerDataset dataset;
+	private PlayerService service;
+	private PlayerRepository repository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		dataset = new PlayerDataset(players);
+		service = dataset.getBean(PlayerService.class);
+		repository = dataset.getBean(PlayerRepository.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataset.close();
+	}
+
+	@Benchmark
+	public Player primaryKeyLookup() throws Exception {
+		return service.getPlayerById(randomId());
+	}
+
+	@Benchmark
+	public Player fullScanLookup() {
+		long id = randomId();
+		for (Player player : repository.findAll()) {
+			if (player.getId() == id) return player;
+		}
+		return null;
+	}
+
+	private long randomId() {
+		return 1 + ThreadLocalRandom.current().nextInt(players);
+	}
+}
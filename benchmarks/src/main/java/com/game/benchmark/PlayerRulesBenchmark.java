@@ -0,0 +1,82 @@
+package com.game.benchmark;
+
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerRules;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * The checks and the level calculation every created, updated and imported player goes through.
+ * An invalid player costs an exception on top of the checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PlayerRulesBenchmark {
+
+	private Player valid;
+	private Player invalid;
+
+	@Setup
+	public void setUp() {
+		valid = new Player();
+		valid.setName("Ниус");
+		valid.setTitle("Приходящий Без Шума");
+		valid.setRace(Race.HOBBIT);
+		valid.setProfession(Profession.ROGUE);
+		valid.setBirthday(new Timestamp(1286841600000L));
+		valid.setBanned(false);
+		valid.setExperience(58347);
+
+		invalid = new Player();
+		invalid.setName("Ниус");
+		invalid.setTitle("Приходящий Без Шума");
+		// born before 2000: rejected by the last date check
+		invalid.setBirthday(new Timestamp(915148800000L));
+		invalid.setExperience(58347);
+	}
+
+	@Benchmark
+	public boolean validateValid() {
+		return validate(valid);
+	}
+
+	@Benchmark
+	public boolean validateInvalid() {
+		return validate(invalid);
+	}
+
+	@Benchmark
+	public Player calculateLevel() {
+		PlayerRules.calculateLevel(valid);
+		return valid;
+	}
+
+	private static boolean validate(Player player) {
+		try {
+			PlayerRules.validate(player);
+			return true;
+		}
+		catch (PlayerValidationException e) {
+			return false;
+		}
+	}
+}
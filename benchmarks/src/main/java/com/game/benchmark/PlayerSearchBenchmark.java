@@ -0,0 +1,82 @@
+package com.game.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.service.PlayerPage;
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerService;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * The first page of a players listing, as {@link PlayerService#getPlayers} and with its total
+ * as {@link PlayerService#getPage}, for every {@link PlayerFilter} and {@link PlayerOrder} on
+ * both search engines. Every combination boots and fills its own dataset, so restrict the matrix
+ * with {@code -p}; 10M players need about 5 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class PlayerSearchBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"10000", "100000", "1000000", "10000000"})
+	int players;
+
+	@Param({"index", "database"})
+	String engine;
+
+	@Param
+	PlayerFilter filter;
+
+	@Param
+	PlayerOrder order;
+
+	private PlayerDataset dataset;
+	private PlayerService service;
+	private PlayerQuery query;
+
+	@Setup(Level.Trial)
+	public void setUp() throws PlayerValidationException {
+		dataset = new PlayerDataset(players, engine);
+		service = dataset.getBean(PlayerService.class);
+		query = filter.apply(PlayerQuery.builder()).order(order).pageSize(PAGE_SIZE).build();
+		// the index is loaded on first use, which is not what is measured
+		service.getPlayers(query);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dataset.close();
+	}
+
+	@Benchmark
+	public List<Player> getPlayers() {
+		return service.getPlayers(query);
+	}
+
+	@Benchmark
+	public PlayerPage getPage() {
+		return service.getPage(query);
+	}
+}
@@ -0,0 +1,78 @@
+package com.game.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JSON result files of the benchmarks and prints the change of every benchmark and
+ * parameter combination they have in common:
+ *
+ * <pre>java -cp benchmarks.jar com.game.benchmark.ResultComparison baseline.json current.json [threshold %]</pre>
+ *
+ * A result is a regression when it is worse than the baseline by more than the threshold, 10% by
+ * default, and by more than the error margins of both runs together. The exit status is 1 when
+ * there is a regression, so a build can stop on it.
+ */
+public final class ResultComparison {
+
+	private ResultComparison() {}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: ResultComparison <baseline.json> <current.json> [threshold %]");
+			System.exit(2);
+		}
+		Map<String, JsonNode> baseline = read(new File(args[0]));
+		Map<String, JsonNode> current = read(new File(args[1]));
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+		int regressions = 0;
+		for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			if (before == null) continue;
+			JsonNode after = entry.getValue();
+			double old = score(before), now = score(after);
+			// lower is better for times, higher for throughput
+			boolean higherIsBetter = "thrpt".equals(after.get("mode").asText());
+			double change = (now - old) / old * 100;
+			double worse = higherIsBetter ? -change : change;
+			boolean regression = worse > threshold && Math.abs(now - old) > error(before) + error(after);
+			if (regression) regressions++;
+			System.out.printf("%-10s %+8.1f%%  %12.3f -> %12.3f %s  %s%n", regression ? "REGRESSION" : "", change, old, now
+					, after.get("primaryMetric").get("scoreUnit").asText(), entry.getKey());
+		}
+		System.out.printf("%d of %d results regressed by more than %.1f%%%n", regressions, current.size(), threshold);
+		if (regressions > 0) System.exit(1);
+	}
+
+	private static Map<String, JsonNode> read(File file) throws IOException {
+		Map<String, JsonNode> results = new LinkedHashMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(file)) {
+			StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+			JsonNode params = result.get("params");
+			if (params != null) {
+				for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+					Map.Entry<String, JsonNode> param = it.next();
+					key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+				}
+			}
+			results.put(key.toString(), result);
+		}
+		return results;
+	}
+
+	private static double score(JsonNode result) {
+		return result.get("primaryMetric").get("score").asDouble();
+	}
+
+	private static double error(JsonNode result) {
+		double error = result.get("primaryMetric").get("scoreError").asDouble();
+		return Double.isNaN(error) ? 0 : error;
+	}
+}
@@ -0,0 +1,84 @@
+package com.game.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import com.game.config.WebConfig;
+import com.game.entity.Player;
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerService;
+
+/**
+ * Encoding and decoding a page of players in each negotiated wire format, with the mappers
+ * configured like the message converters of {@link WebConfig}. The payload size of every format
+ * is printed when a trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WireFormatBenchmark {
+
+	@Param({"json", "cbor", "smile"})
+	String format;
+
+	@Param({"20", "1000"})
+	int pageSize;
+
+	private List<Player> page;
+	private ObjectWriter writer;
+	private ObjectReader reader;
+	private byte[] payload;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		try (PlayerDataset dataset = new PlayerDataset(pageSize)) {
+			page = dataset.getBean(PlayerService.class).getPlayers(PlayerQuery.builder().pageSize(pageSize).build());
+		}
+		ObjectMapper mapper = WebConfig.configure(builder(format).build());
+		JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, Player.class);
+		writer = mapper.writerFor(type);
+		reader = mapper.readerFor(type);
+		payload = writer.writeValueAsBytes(page);
+		System.out.printf("%n%s, %d players: %d bytes%n", format, page.size(), payload.length);
+	}
+
+	@Benchmark
+	public byte[] encode() throws Exception {
+		return writer.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public List<Player> decode() throws Exception {
+		return reader.readValue(payload);
+	}
+
+	private static Jackson2ObjectMapperBuilder builder(String format) {
+		switch (format) {
+			case "cbor": return Jackson2ObjectMapperBuilder.cbor();
+			case "smile": return Jackson2ObjectMapperBuilder.smile();
+			default: return Jackson2ObjectMapperBuilder.json();
+		}
+	}
+}
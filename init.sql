@@ -10,8 +10,8 @@ DROP TABLE IF EXISTS player;
 CREATE TABLE player
 (
     id             BIGINT(20)  NOT NULL AUTO_INCREMENT,
-    name           VARCHAR(12) NULL,
-    title          VARCHAR(30) NULL,
+    name           VARCHAR(12) COLLATE utf8_bin NULL,
+    title          VARCHAR(30) COLLATE utf8_bin NULL,
     race           VARCHAR(20) NULL,
     profession     VARCHAR(20) NULL,
     birthday       DATE        NULL,
@@ -19,7 +19,12 @@ CREATE TABLE player
     experience     INT(10)     NULL,
     level          INT(3)      NULL,
     untilNextLevel INT(10)     NULL,
-    PRIMARY KEY (id)
+    PRIMARY KEY (id),
+    INDEX player_name_idx (name, id),
+    INDEX player_experience_idx (experience, id),
+    INDEX player_birthday_idx (birthday, id),
+    INDEX player_level_idx (level, id),
+    INDEX player_race_profession_idx (race, profession)
 )
     ENGINE = InnoDB
     DEFAULT CHARACTER SET = utf8;
@@ -0,0 +1,104 @@
+package com.game.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.startup.Tomcat;
+import org.apache.tomcat.util.scan.StandardJarScanner;
+import org.springframework.web.SpringServletContainerInitializer;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+import com.game.config.MyWebAppInit;
+import com.game.service.PlayerService;
+import com.game.testdata.SyntheticPlayers;
+
+/**
+ * The WAR as the servlet container runs it: {@link MyWebAppInit} is started by Spring's
+ * {@link SpringServletContainerInitializer} on an embedded Tomcat, on a free local port. The dev
+ * profile is set as a context parameter, which takes precedence over the prod profile the
+ * initializer sets, so the application runs on its in-memory H2 database.
+ */
+public final class EmbeddedWar implements AutoCloseable {
+
+	private final Path baseDir;
+	private final Tomcat tomcat;
+	private final StandardContext context;
+
+	private EmbeddedWar() throws IOException, LifecycleException {
+		baseDir = Files.createTempDirectory("rpg-loadtest");
+		tomcat = new Tomcat();
+		tomcat.setBaseDir(baseDir.toString());
+		tomcat.setPort(0);
+		tomcat.getConnector();
+
+		context = (StandardContext) tomcat.addContext("", baseDir.toString());
+		// the application shares the class loader of the run, there are no leaks of a redeploy to clear,
+		// and clearing them reflects into java.base, which newer JDKs refuse
+		context.setClearReferencesObjectStreamClassCaches(false);
+		context.setClearReferencesRmiTargets(false);
+		context.setClearReferencesThreadLocals(false);
+		// the initializer is registered directly, the class path does not have to be scanned for it
+		StandardJarScanner jarScanner = new StandardJarScanner();
+		jarScanner.setScanClassPath(false);
+		jarScanner.setScanManifest(false);
+		context.setJarScanner(jarScanner);
+		context.addParameter("spring.profiles.active", "dev");
+		context.addServletContainerInitializer(new SpringServletContainerInitializer(), Collections.singleton(MyWebAppInit.class));
+		tomcat.start();
+	}
+
+	/**
+	 * Starts the application and adds {@code players} synthetic players to the dev data.
+	 */
+	public static EmbeddedWar start(int players) throws IOException, LifecycleException {
+		EmbeddedWar war = new EmbeddedWar();
+		try {
+			war.populate(players);
+		}
+		catch (RuntimeException e) {
+			war.close();
+			throw e;
+		}
+		return war;
+	}
+
+	public String getUrl() {
+		return "http://localhost:" + tomcat.getConnector().getLocalPort();
+	}
+
+	@Override
+	public void close() {
+		try {
+			tomcat.stop();
+			tomcat.destroy();
+		}
+		catch (LifecycleException e) {
+			throw new IllegalStateException(e);
+		}
+		finally {
+			try (Stream<Path> files = Files.walk(baseDir)) {
+				files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+			}
+			catch (IOException e) {
+				// a leftover temporary directory is not worth failing the run for
+			}
+		}
+	}
+
+	private void populate(int players) {
+		WebApplicationContext application = WebApplicationContextUtils.getRequiredWebApplicationContext(context.getServletContext());
+		SyntheticPlayers.insert(application.getBean(DataSource.class), players);
+		// the rows were inserted behind the application's back
+		application.getBean(PlayerService.class).refresh();
+	}
+}
@@ -0,0 +1,126 @@
+package com.game.loadtest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms in microseconds and error counts of a measured run, per operation and for
+ * the whole mix, and their check against the objectives of the settings.
+ */
+public final class LoadReport {
+
+	private static final String[][] PERCENTILES = {{"p50-ms", "50"}, {"p95-ms", "95"}, {"p99-ms", "99"}, {"p999-ms", "99.9"}};
+
+	private final int seconds;
+	private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+	private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+	private final Histogram total = new Histogram(3);
+
+	LoadReport(int seconds) {
+		this.seconds = seconds;
+	}
+
+	void add(Operation operation, Histogram histogram, long errorCount) {
+		latencies.computeIfAbsent(operation, key -> new Histogram(3)).add(histogram);
+		errors.merge(operation, errorCount, Long::sum);
+		total.add(histogram);
+	}
+
+	/**
+	 * Operations of the run with at least one answered request.
+	 */
+	public List<Operation> getOperations() {
+		List<Operation> operations = new ArrayList<>();
+		for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+			if (entry.getValue().getTotalCount() > 0) operations.add(entry.getKey());
+		}
+		return operations;
+	}
+
+	public double getThroughput() {
+		return total.getTotalCount() / (double) seconds;
+	}
+
+	public void print(PrintStream out) {
+		out.printf("%-8s %9s %7s %9s %9s %9s %9s %9s %9s%n", "", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+		for (Operation operation : latencies.keySet()) {
+			print(out, operation.key(), latencies.get(operation), errors.get(operation));
+		}
+		print(out, "all", total, totalErrors());
+	}
+
+	/**
+	 * Writes the percentile distribution of every operation and of the whole mix as .hgrm files,
+	 * in milliseconds, which HdrHistogram's plotter reads.
+	 */
+	public void write(File directory) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Cannot create " + directory);
+		for (Operation operation : latencies.keySet()) write(new File(directory, operation.key() + ".hgrm"), latencies.get(operation));
+		write(new File(directory, "all.hgrm"), total);
+		try (PrintStream out = new PrintStream(new FileOutputStream(new File(directory, "summary.txt")), true, "UTF-8")) {
+			print(out);
+		}
+	}
+
+	/**
+	 * The objectives of the settings this run misses, as readable lines; empty when all are met.
+	 */
+	public List<String> violations(LoadSettings settings) {
+		List<String> violations = new ArrayList<>();
+		check(violations, "all", total, totalErrors(), settings.getObjective("error-rate"), settings.getObjective("min-throughput"), settings::getObjective);
+		for (Operation operation : latencies.keySet()) {
+			check(violations, operation.key(), latencies.get(operation), errors.get(operation)
+					, settings.getObjective(operation, "error-rate"), settings.getObjective(operation, "min-throughput")
+					, objective -> settings.getObjective(operation, objective));
+		}
+		return violations;
+	}
+
+	private void check(List<String> violations, String name, Histogram histogram, long errorCount, Double maxErrorRate, Double minThroughput
+			, Function<String, Double> objectives) {
+		for (String[] percentile : PERCENTILES) {
+			Double limit = objectives.apply(percentile[0]);
+			if (limit == null || histogram.getTotalCount() == 0) continue;
+			double actual = millis(histogram.getValueAtPercentile(Double.parseDouble(percentile[1])));
+			if (actual > limit) violations.add(String.format("%s %s %.2f > %.2f", name, percentile[0], actual, limit));
+		}
+		long requests = histogram.getTotalCount() + errorCount;
+		if (maxErrorRate != null && requests > 0 && errorCount / (double) requests > maxErrorRate)
+			violations.add(String.format("%s error-rate %.4f > %.4f", name, errorCount / (double) requests, maxErrorRate));
+		double throughput = histogram.getTotalCount() / (double) seconds;
+		if (minThroughput != null && throughput < minThroughput)
+			violations.add(String.format("%s min-throughput %.1f < %.1f", name, throughput, minThroughput));
+	}
+
+	private void print(PrintStream out, String name, Histogram histogram, long errorCount) {
+		out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(), errorCount
+				, histogram.getTotalCount() / (double) seconds
+				, millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95))
+				, millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+	}
+
+	private static void write(File file, Histogram histogram) throws IOException {
+		try (PrintStream out = new PrintStream(new FileOutputStream(file), true, "UTF-8")) {
+			histogram.outputPercentileDistribution(out, 1000.0);
+		}
+	}
+
+	private long totalErrors() {
+		long sum = 0;
+		for (long count : errors.values()) sum += count;
+		return sum;
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+}
@@ -0,0 +1,126 @@
+package com.game.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Drives the request mix of the settings against one deployment: a warm-up whose results are
+ * dropped, then the measured run. Every client records into its own histograms, which are merged
+ * when the run is over, so recording does not contend.
+ */
+public final class LoadRunner {
+
+	/** Players the reads and updates are spread over. */
+	private static final int EXISTING_PLAYERS = 1000;
+
+	private final LoadSettings settings;
+
+	public LoadRunner(LoadSettings settings) {
+		this.settings = settings;
+	}
+
+	public LoadReport run(String baseUrl) throws Exception {
+		List<Long> existing = PlayerApiClient.existingIds(baseUrl, EXISTING_PLAYERS);
+		Queue<Long> created = new ConcurrentLinkedQueue<>();
+		phase(baseUrl, existing, created, settings.getWarmupSeconds());
+		return phase(baseUrl, existing, created, settings.getDurationSeconds());
+	}
+
+	private LoadReport phase(String baseUrl, List<Long> existing, Queue<Long> created, int seconds) throws Exception {
+		int clients = settings.getClients();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		// with a rate every client sends on its own schedule, one request per interval
+		long interval = settings.getRate() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * clients / settings.getRate()) : 0;
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<Client>> futures = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				Client client = new Client(new PlayerApiClient(baseUrl, existing, created, i), settings.getMix(), i);
+				futures.add(executor.submit(() -> client.run(deadline, interval)));
+			}
+			LoadReport report = new LoadReport(seconds);
+			for (Future<Client> future : futures) {
+				Client client = future.get();
+				for (Operation operation : client.latencies.keySet()) {
+					report.add(operation, client.latencies.get(operation), client.errors.get(operation));
+				}
+			}
+			return report;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * One load client: picks the next operation by weight, sends it and records its latency in
+	 * microseconds.
+	 */
+	private static final class Client {
+		private final PlayerApiClient api;
+		private final Operation[] operations;
+		private final int[] cumulativeWeights;
+		private final Random random;
+		private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+		private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+		Client(PlayerApiClient api, Map<Operation, Integer> mix, long seed) {
+			this.api = api;
+			this.operations = mix.keySet().toArray(new Operation[0]);
+			this.cumulativeWeights = new int[operations.length];
+			int total = 0;
+			for (int i = 0; i < operations.length; i++) {
+				total += mix.get(operations[i]);
+				cumulativeWeights[i] = total;
+				latencies.put(operations[i], new Histogram(3));
+				errors.put(operations[i], 0L);
+			}
+			// a delete without a created player to remove turns into a create
+			latencies.putIfAbsent(Operation.CREATE, new Histogram(3));
+			errors.putIfAbsent(Operation.CREATE, 0L);
+			// not the sequence of the requests of the same client
+			this.random = new Random(~seed);
+		}
+
+		Client run(long deadline, long interval) {
+			long due = System.nanoTime();
+			while (true) {
+				if (interval > 0) {
+					due += interval;
+					long wait = due - System.nanoTime();
+					if (wait > 0) LockSupport.parkNanos(wait);
+				}
+				else due = System.nanoTime();
+				if (due >= deadline) return this;
+
+				Operation operation = next();
+				if (operation == Operation.DELETE && !api.canDelete()) operation = Operation.CREATE;
+				boolean succeeded = api.send(operation);
+				// measured from when the request was due, so time spent waiting for a late answer counts
+				long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+				if (succeeded) latencies.get(operation).recordValue(latency);
+				else errors.merge(operation, 1L, Long::sum);
+			}
+		}
+
+		private Operation next() {
+			int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+			for (int i = 0; i < operations.length; i++) {
+				if (pick < cumulativeWeights[i]) return operations[i];
+			}
+			throw new IllegalStateException();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.game.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The settings of a load run: loadtest.properties from the classpath, overridden by system
+ * properties of the same name.
+ */
+public final class LoadSettings {
+
+	private final Properties properties = new Properties();
+
+	private LoadSettings() {}
+
+	public static LoadSettings load() {
+		LoadSettings settings = new LoadSettings();
+		try (InputStream defaults = LoadSettings.class.getResourceAsStream("/loadtest.properties")) {
+			settings.properties.load(defaults);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith("load.") || name.startsWith("slo.")) settings.properties.setProperty(name, System.getProperty(name));
+		}
+		return settings;
+	}
+
+	/**
+	 * Base URL of the deployment under load, or {@code null} to boot the embedded one.
+	 */
+	public String getTarget() {
+		String target = properties.getProperty("load.target", "").trim();
+		return target.isEmpty() ? null : target;
+	}
+
+	public int getPlayers() {
+		return Integer.parseInt(required("load.players"));
+	}
+
+	public int getClients() {
+		return Integer.parseInt(required("load.clients"));
+	}
+
+	/**
+	 * Requests per second over all clients, 0 for a closed loop without pauses.
+	 */
+	public double getRate() {
+		return Double.parseDouble(required("load.rate"));
+	}
+
+	public int getWarmupSeconds() {
+		return Integer.parseInt(required("load.warmup-seconds"));
+	}
+
+	public int getDurationSeconds() {
+		return Integer.parseInt(required("load.duration-seconds"));
+	}
+
+	public Map<Operation, Integer> getMix() {
+		Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+		for (String entry : required("load.mix").split(",")) {
+			String[] parts = entry.split(":");
+			if (parts.length != 2) throw new IllegalArgumentException("load.mix entry is not operation:weight: " + entry);
+			mix.put(Operation.of(parts[0]), Integer.parseInt(parts[1].trim()));
+		}
+		return mix;
+	}
+
+	public File getReportDirectory() {
+		String directory = properties.getProperty("load.report-directory", "").trim();
+		return directory.isEmpty() ? null : new File(directory);
+	}
+
+	/**
+	 * The objective of the whole mix, e.g. {@code p99-ms}, or {@code null} when it is not set.
+	 */
+	public Double getObjective(String objective) {
+		return number("slo." + objective);
+	}
+
+	/**
+	 * The objective of one operation, or {@code null} when it is not set for it.
+	 */
+	public Double getObjective(Operation operation, String objective) {
+		return number("slo." + operation.key() + "." + objective);
+	}
+
+	private Double number(String name) {
+		String value = properties.getProperty(name, "").trim();
+		return value.isEmpty() ? null : Double.valueOf(value);
+	}
+
+	private String required(String name) {
+		String value = properties.getProperty(name);
+		if (value == null || value.trim().isEmpty()) throw new IllegalStateException("Missing load setting " + name);
+		return value.trim();
+	}
+}
@@ -0,0 +1,39 @@
+package com.game.loadtest;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Runs the load of loadtest.properties, prints the report and checks the objectives: against
+ * {@code load.target} when it is set, otherwise against the WAR booted on an embedded Tomcat.
+ * Exits with 1 when an objective is missed.
+ */
+public final class LoadTest {
+
+	private LoadTest() {}
+
+	public static void main(String[] args) throws Exception {
+		LoadSettings settings = LoadSettings.load();
+		List<String> violations = run(settings).violations(settings);
+		violations.forEach(violation -> System.out.println("SLO missed: " + violation));
+		System.exit(violations.isEmpty() ? 0 : 1);
+	}
+
+	public static LoadReport run(LoadSettings settings) throws Exception {
+		LoadReport report;
+		if (settings.getTarget() != null) {
+			report = new LoadRunner(settings).run(settings.getTarget());
+		}
+		else {
+			try (EmbeddedWar war = EmbeddedWar.start(settings.getPlayers())) {
+				report = new LoadRunner(settings).run(war.getUrl());
+			}
+		}
+		System.out.printf("%d clients, %s, %d s measured after %d s warm-up%n", settings.getClients()
+				, settings.getRate() > 0 ? settings.getRate() + " req/s" : "closed loop", settings.getDurationSeconds(), settings.getWarmupSeconds());
+		report.print(System.out);
+		File directory = settings.getReportDirectory();
+		if (directory != null) report.write(directory);
+		return report;
+	}
+}
@@ -0,0 +1,17 @@
+package com.game.loadtest;
+
+/**
+ * The kinds of player requests in the load mix, named in {@code load.mix} and in the objectives by
+ * their lower-case name.
+ */
+public enum Operation {
+	LIST, COUNT, GET, CREATE, UPDATE, DELETE;
+
+	public String key() {
+		return name().toLowerCase();
+	}
+
+	public static Operation of(String key) {
+		return valueOf(key.trim().toUpperCase());
+	}
+}
@@ -0,0 +1,149 @@
+package com.game.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+/**
+ * Sends the requests of one load client over a keep-alive connection. Reads, updates and lookups
+ * pick from the players that existed before the run; deletes remove players created during it,
+ * so no request of the mix is expected to fail.
+ */
+final class PlayerApiClient {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+	private static final long FIRST_BIRTHDAY = 946684800000L; // 2000-01-01
+	private static final long BIRTHDAY_RANGE = 10L * 365 * 24 * 60 * 60 * 1000;
+
+	private final String baseUrl;
+	private final List<Long> existing;
+	private final Queue<Long> created;
+	private final Random random;
+	private final byte[] buffer = new byte[8192];
+
+	PlayerApiClient(String baseUrl, List<Long> existing, Queue<Long> created, long seed) {
+		this.baseUrl = baseUrl;
+		this.existing = existing;
+		this.created = created;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Ids of the first players of the deployment, the ones the reads and updates address.
+	 */
+	static List<Long> existingIds(String baseUrl, int limit) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + "/rest/players?pageSize=" + limit).openConnection();
+		connection.setRequestProperty("Accept", "application/json");
+		try (InputStream body = connection.getInputStream()) {
+			List<Long> ids = new ArrayList<>();
+			for (JsonNode player : MAPPER.readTree(body)) ids.add(player.get("id").asLong());
+			if (ids.isEmpty()) throw new IllegalStateException(baseUrl + " has no players to read");
+			return ids;
+		}
+	}
+
+	/**
+	 * Whether a player created during the run is left to delete.
+	 */
+	boolean canDelete() {
+		return !created.isEmpty();
+	}
+
+	/**
+	 * Sends one request of the operation and tells whether it succeeded.
+	 */
+	boolean send(Operation operation) {
+		try {
+			switch (operation) {
+				case LIST:
+					return get("/rest/players?pageSize=20&pageNumber=" + random.nextInt(5)
+							+ "&order=" + PlayerOrder.values()[random.nextInt(PlayerOrder.values().length)]
+							+ (random.nextBoolean() ? "&race=" + Race.values()[random.nextInt(Race.values().length)] : "")) != null;
+				case COUNT:
+					return get("/rest/players/count?profession=" + Profession.values()[random.nextInt(Profession.values().length)]
+							+ "&minLevel=" + random.nextInt(100)) != null;
+				case GET:
+					return get("/rest/players/" + existingId()) != null;
+				case CREATE:
+					byte[] player = send("POST", "/rest/players", newPlayer());
+					if (player == null) return false;
+					created.add(MAPPER.readTree(player).get("id").asLong());
+					return true;
+				case UPDATE:
+					ObjectNode change = MAPPER.createObjectNode().put("experience", random.nextInt(10_000_001));
+					return send("POST", "/rest/players/" + existingId(), change) != null;
+				case DELETE:
+					Long id = created.poll();
+					return id != null && send("DELETE", "/rest/players/" + id, null) != null;
+				default:
+					throw new IllegalArgumentException(operation.toString());
+			}
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+	private long existingId() {
+		return existing.get(random.nextInt(existing.size()));
+	}
+
+	private ObjectNode newPlayer() {
+		return MAPPER.createObjectNode()
+				.put("name", "Нагрузка" + random.nextInt(1000))
+				.put("title", "Созданный под нагрузкой")
+				.put("race", Race.values()[random.nextInt(Race.values().length)].name())
+				.put("profession", Profession.values()[random.nextInt(Profession.values().length)].name())
+				.put("birthday", FIRST_BIRTHDAY + (long) (random.nextDouble() * BIRTHDAY_RANGE))
+				.put("banned", false)
+				.put("experience", random.nextInt(10_000_001));
+	}
+
+	private byte[] get(String path) throws IOException {
+		return send("GET", path, null);
+	}
+
+	/**
+	 * Sends the request and reads the whole response, which returns the connection to the
+	 * keep-alive pool. Returns the body, or {@code null} when the status is not 2xx.
+	 */
+	private byte[] send(String method, String path, JsonNode body) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+		connection.setRequestMethod(method);
+		connection.setRequestProperty("Accept", "application/json");
+		if (body != null) {
+			connection.setDoOutput(true);
+			connection.setRequestProperty("Content-Type", "application/json");
+			try (OutputStream out = connection.getOutputStream()) {
+				out.write(MAPPER.writeValueAsBytes(body));
+			}
+		}
+		int status = connection.getResponseCode();
+		if (status < 200 || status >= 300) {
+			try (InputStream error = connection.getErrorStream()) {
+				if (error != null) while (error.read(buffer) >= 0) {}
+			}
+			return null;
+		}
+		try (InputStream in = connection.getInputStream()) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			for (int read; (read = in.read(buffer)) >= 0; ) content.write(buffer, 0, read);
+			return content.toByteArray();
+		}
+	}
+}
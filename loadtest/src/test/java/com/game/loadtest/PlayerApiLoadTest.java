@@ -0,0 +1,23 @@
+package com.game.loadtest;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerApiLoadTest {
+
+    //test1
+    @Test
+    public void playerApiMeetsItsObjectives() throws Exception {
+        LoadSettings settings = LoadSettings.load();
+
+        LoadReport report = LoadTest.run(settings);
+
+        assertEquals("Нагрузка должна включать запросы каждого вида.", settings.getMix().keySet().size(), report.getOperations().size());
+        List<String> violations = report.violations(settings);
+        assertTrue("Целевые показатели не выполнены: " + violations, violations.isEmpty());
+    }
+}
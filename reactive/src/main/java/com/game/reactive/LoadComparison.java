@@ -0,0 +1,133 @@
+package com.game.reactive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same closed-loop load against each deployment given as a base URL, one after the
+ * other, and prints throughput and latency percentiles side by side. Every client sends its next
+ * request as soon as the previous one is answered, cycling through the paths. Settings are system
+ * properties:
+ * <ul>
+ * <li>{@code clients}: concurrent connections, 64 by default;</li>
+ * <li>{@code warmup}: seconds of load before measuring, 10 by default;</li>
+ * <li>{@code seconds}: seconds measured, 30 by default;</li>
+ * <li>{@code paths}: comma-separated request paths, by default a list page, a count and a player.</li>
+ * </ul>
+ */
+public class LoadComparison {
+
+	private static final String DEFAULT_PATHS = "/rest/players?pageSize=20&order=LEVEL,/rest/players/count?race=ELF,/rest/players/1";
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("Usage: LoadComparison <base URL>...");
+			System.exit(2);
+		}
+		int clients = Integer.getInteger("clients", 64);
+		int warmup = Integer.getInteger("warmup", 10);
+		int seconds = Integer.getInteger("seconds", 30);
+		String[] paths = System.getProperty("paths", DEFAULT_PATHS).split(",");
+
+		System.out.printf("%d clients, %d s warm-up, %d s measured, paths %s%n", clients, warmup, seconds, Arrays.toString(paths));
+		System.out.printf("%-32s %10s %8s %10s %9s %9s %9s %9s%n", "target", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+		for (String base : args) {
+			run(base, paths, clients, warmup);
+			Result result = run(base, paths, clients, seconds);
+			System.out.printf("%-32s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", base, result.latencies.length, result.errors
+					, result.latencies.length / (double) seconds, result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100));
+		}
+	}
+
+	private static Result run(String base, String[] paths, int clients, int seconds) throws Exception {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		ExecutorService executor = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<Client>> futures = new ArrayList<>(clients);
+			for (int i = 0; i < clients; i++) {
+				Client client = new Client(base, paths, i);
+				futures.add(executor.submit(() -> client.run(deadline)));
+			}
+			Result result = new Result();
+			for (Future<Client> future : futures) result.add(future.get());
+			Arrays.sort(result.latencies);
+			return result;
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * One connection sending requests in a loop and recording the latency of every answered one.
+	 */
+	private static class Client {
+		private final String base;
+		private final String[] paths;
+		private int next;
+		private long[] latencies = new long[1024];
+		private int count, errors;
+		private final byte[] buffer = new byte[8192];
+
+		Client(String base, String[] paths, int offset) {
+			this.base = base;
+			this.paths = paths;
+			this.next = offset;
+		}
+
+		Client run(long deadline) {
+			while (System.nanoTime() < deadline) {
+				long start = System.nanoTime();
+				if (request(paths[next++ % paths.length])) {
+					if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+					latencies[count++] = System.nanoTime() - start;
+				}
+				else errors++;
+			}
+			return this;
+		}
+
+		private boolean request(String path) {
+			try {
+				HttpURLConnection connection = (HttpURLConnection) new URL(base + path).openConnection();
+				connection.setRequestProperty("Accept", "application/json");
+				int status = connection.getResponseCode();
+				// reading the body to the end returns the connection to the keep-alive pool
+				try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+					if (body != null) while (body.read(buffer) >= 0) {}
+				}
+				return status < 400;
+			}
+			catch (IOException e) {
+				return false;
+			}
+		}
+	}
+
+	private static class Result {
+		private long[] latencies = new long[0];
+		private int errors;
+
+		void add(Client client) {
+			int length = latencies.length;
+			latencies = Arrays.copyOf(latencies, length + client.count);
+			System.arraycopy(client.latencies, 0, latencies, length, client.count);
+			errors += client.errors;
+		}
+
+		double percentile(double percentile) {
+			if (latencies.length == 0) return Double.NaN;
+			int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+			return latencies[Math.max(index, 0)] / 1e6;
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.game.reactive;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Runs the reactive player API on Reactor Netty, on {@code server.port}. The profile is chosen
+ * like for the WAR, with {@code -Dspring.profiles.active=prod} or {@code dev}.
+ */
+public class ReactiveApplication {
+
+	public static void main(String[] args) {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(ReactiveConfig.class);
+		context.registerShutdownHook();
+
+		HttpHandler handler = WebHttpHandlerBuilder.applicationContext(context).build();
+		DisposableServer server = HttpServer.create()
+				.port(context.getEnvironment().getRequiredProperty("server.port", Integer.class))
+				.handle(new ReactorHttpHandlerAdapter(handler))
+				.bindNow();
+		System.out.println("Listening on " + server.address());
+		server.onDispose().block();
+	}
+}
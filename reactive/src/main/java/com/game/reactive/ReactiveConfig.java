@@ -0,0 +1,112 @@
+package com.game.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.config.WebConfig;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.connectionfactory.R2dbcTransactionManager;
+import org.springframework.data.r2dbc.connectionfactory.init.ConnectionFactoryInitializer;
+import org.springframework.data.r2dbc.connectionfactory.init.ResourceDatabasePopulator;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+
+@Configuration
+@EnableWebFlux
+@ComponentScan(basePackages = "com.game.reactive")
+@PropertySource("classpath:reactive.properties")
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    /**
+     * Newline-delimited JSON: a stream of players, each written as soon as it is read.
+     */
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private final Environment env;
+
+    @Autowired
+    public ReactiveConfig(Environment env) {
+        this.env = env;
+    }
+
+    @Profile("prod")
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory() {
+        return pool(env.getRequiredProperty("r2dbc.url"));
+    }
+
+    @Profile("dev")
+    @Bean(name = "connectionFactory", destroyMethod = "dispose")
+    public ConnectionPool connectionFactoryForTests() {
+        return pool("r2dbc:h2:mem:///rpg-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+    }
+
+    @Profile("dev")
+    @Bean
+    public ConnectionFactoryInitializer connectionFactoryInitializer(ConnectionFactory connectionFactory) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("test.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.setIgnoreFailedDrops(true);
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator transactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * The same field-access mapper and player codec as the message converters of the WAR, so both
+     * stacks write the same JSON.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        return WebConfig.configure(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        MediaType[] mediaTypes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_STREAM_JSON, APPLICATION_NDJSON};
+        Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper(), mediaTypes);
+        // one player per line, flushed as it is encoded, instead of one array at the end
+        encoder.setStreamingMediaTypes(Arrays.asList(MediaType.APPLICATION_STREAM_JSON, APPLICATION_NDJSON));
+        configurer.defaultCodecs().jackson2JsonEncoder(encoder);
+        configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper(), mediaTypes));
+    }
+
+    private ConnectionPool pool(String url) {
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(url))
+                .initialSize(env.getRequiredProperty("r2dbc.pool.initial-size", Integer.class))
+                .maxSize(env.getRequiredProperty("r2dbc.pool.maximum-size", Integer.class))
+                .maxIdleTime(Duration.ofMillis(env.getRequiredProperty("r2dbc.pool.max-idle-time-ms", Long.class)))
+                .build());
+    }
+}
@@ -0,0 +1,199 @@
+package com.game.reactive;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.game.controller.ExportFormat;
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerCursor;
+import com.game.service.PlayerPage;
+import com.game.service.PlayerQuery;
+import com.game.service.exceptions.PlayerNotFoundException;
+import com.game.service.exceptions.PlayerValidationException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /rest/players} contract of {@link com.game.controller.PlayerController} on WebFlux.
+ * Listings requested as {@code application/x-ndjson} or {@code application/stream+json} are
+ * streamed player by player, and the database is read only as fast as the client takes them.
+ * Batch, bulk and import requests, conditional GETs and the binary formats stay with the WAR.
+ */
+@RestController
+public class ReactivePlayerController {
+
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+	private final ReactivePlayerService service;
+	private final int prefetch;
+
+	@Autowired
+	public ReactivePlayerController(ReactivePlayerService service, @Value("${stream.prefetch}") int prefetch) {
+		this.service = service;
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Returns one page of players as a JSON array, with the cursor of the next page in the
+	 * {@value #NEXT_CURSOR_HEADER} header.
+	 */
+	@GetMapping(value = "/rest/players", produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<ResponseEntity<List<Player>>> getPlayersList(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize
+			, @RequestParam(value = "cursor", required = false) String cursor) {
+		PlayerQuery query = page(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel).order(order), pageNumber, pageSize)
+				.cursor(cursor(cursor, order))
+				.build();
+		return service.getPlayers(query).collectList().map(players -> {
+			PlayerCursor nextCursor = PlayerCursor.next(players, query);
+			ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+			if (nextCursor != null) response.header(NEXT_CURSOR_HEADER, nextCursor.encode());
+			return response.body(players);
+		});
+	}
+
+	/**
+	 * Streams the same page one player per line. The header of the next cursor cannot be sent
+	 * before the page ends; clients continue from the last player received instead.
+	 */
+	@GetMapping(value = "/rest/players", produces = {"application/x-ndjson", MediaType.APPLICATION_STREAM_JSON_VALUE})
+	public Flux<Player> streamPlayersList(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize
+			, @RequestParam(value = "cursor", required = false) String cursor) {
+		PlayerQuery query = page(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel).order(order), pageNumber, pageSize)
+				.cursor(cursor(cursor, order))
+				.build();
+		return service.getPlayers(query).limitRate(prefetch);
+	}
+
+	@GetMapping("/rest/players/count")
+	public Mono<Integer> getPlayersCount(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel) {
+		return service.getCount(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.build());
+	}
+
+	@GetMapping("/rest/players/page")
+	public Mono<PlayerPage> getPlayersPage(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize
+			, @RequestParam(value = "cursor", required = false) String cursor) {
+		return service.getPage(page(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel).order(order), pageNumber, pageSize)
+				.cursor(cursor(cursor, order))
+				.build());
+	}
+
+	/**
+	 * Streams every player matching the filter in the requested order as NDJSON, at the pace of
+	 * the client. CSV is only exported by the WAR.
+	 */
+	@GetMapping(value = "/rest/players/export", produces = "application/x-ndjson")
+	public ResponseEntity<Flux<Player>> exportPlayers(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format) {
+		if (format != ExportFormat.NDJSON) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Only NDJSON is exported here");
+		PlayerQuery query = filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.order(order)
+				.build();
+		return ResponseEntity.ok()
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"players." + format.getExtension() + "\"")
+				.body(service.getAllPlayers(query).limitRate(prefetch));
+	}
+
+	@PostMapping("/rest/players")
+	public Mono<Player> createPlayer(@RequestBody Player player) {
+		return service.create(player);
+	}
+
+	@GetMapping("/rest/players/{id}")
+	public Mono<Player> getPlayer(@PathVariable("id") Long id) {
+		return service.getPlayerById(id);
+	}
+
+	@PostMapping("/rest/players/{id}")
+	public Mono<Player> updatePlayer(@PathVariable("id") Long id, @RequestBody Player player) {
+		return service.update(player, id);
+	}
+
+	@DeleteMapping("/rest/players/{id}")
+	public Mono<Void> deletePlayer(@PathVariable("id") Long id) {
+		return service.delete(id);
+	}
+
+	@ExceptionHandler(PlayerNotFoundException.class)
+	public ResponseEntity<Void> notFound() {
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+	}
+
+	@ExceptionHandler(PlayerValidationException.class)
+	public ResponseEntity<Void> invalid() {
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+	}
+
+	private static PlayerCursor cursor(String cursor, PlayerOrder order) {
+		if (cursor == null) return null;
+		try {
+			return PlayerCursor.decode(cursor, order != null ? order : PlayerOrder.ID);
+		}
+		catch (PlayerValidationException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	private static PlayerQuery.Builder page(PlayerQuery.Builder query, Integer pageNumber, Integer pageSize) {
+		try {
+			return query.pageNumber(pageNumber).pageSize(pageSize);
+		}
+		catch (PlayerValidationException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+		}
+	}
+
+	private static PlayerQuery.Builder filter(String name, String title, Race race, Profession profession, Long after, Long before
+			, Boolean banned, Integer minExperience, Integer maxExperience, Integer minLevel, Integer maxLevel) {
+		return PlayerQuery.builder()
+				.name(name).title(title).race(race).profession(profession).after(after).before(before).banned(banned)
+				.minExperience(minExperience).maxExperience(maxExperience).minLevel(minLevel).maxLevel(maxLevel);
+	}
+}
@@ -0,0 +1,241 @@
+package com.game.reactive;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerCursor;
+import com.game.service.PlayerQuery;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads and writes the player table over R2DBC. A {@link PlayerQuery} is translated into SQL with
+ * the filter, order and cursor semantics of {@link com.game.repository.PlayerSpecifications}, so
+ * both stacks return the same players in the same order. Rows are emitted while the driver reads
+ * them, as fast as the subscriber requests them.
+ */
+@Repository
+public class ReactivePlayerRepository {
+
+	private static final String SELECT = "SELECT id, name, title, race, profession, birthday, banned, experience, level, untilNextLevel FROM player";
+	// the backslash of the JPA queries would have to be escaped differently in every SQL dialect
+	private static final char LIKE_ESCAPE = '!';
+
+	private final DatabaseClient client;
+
+	@Autowired
+	public ReactivePlayerRepository(DatabaseClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * The page of the query: the players after its cursor or its offset, at most a page size of them.
+	 */
+	public Flux<Player> findPage(PlayerQuery query) {
+		Statement statement = new Statement(SELECT).where(query, true).orderBy(query.getOrder());
+		statement.sql.append(" LIMIT :limit OFFSET :offset");
+		statement.params.put("limit", query.getPageSize());
+		statement.params.put("offset", query.getOffset());
+		return statement.select();
+	}
+
+	/**
+	 * Every player matching the filter of the query, in its order.
+	 */
+	public Flux<Player> findAll(PlayerQuery query) {
+		return new Statement(SELECT).where(query, false).orderBy(query.getOrder()).select();
+	}
+
+	public Mono<Integer> count(PlayerQuery query) {
+		Statement statement = new Statement("SELECT COUNT(*) FROM player").where(query, false);
+		return statement.bind(client.execute(statement.sql.toString()))
+				.map(row -> row.get(0, Long.class).intValue())
+				.one();
+	}
+
+	public Mono<Player> findById(long id) {
+		return client.execute(SELECT + " WHERE id = :id")
+				.bind("id", id)
+				.map(ReactivePlayerRepository::player)
+				.one();
+	}
+
+	/**
+	 * Inserts the player and returns it with the generated id.
+	 */
+	public Mono<Player> insert(Player player) {
+		Statement values = new Statement("").values(player);
+		DatabaseClient.GenericInsertSpec<Map<String, Object>> spec = client.insert().into("player");
+		for (Map.Entry<String, Object> value : values.params.entrySet()) spec = spec.value(value.getKey(), value.getValue());
+		for (Map.Entry<String, Class<?>> value : values.nulls.entrySet()) spec = spec.nullValue(value.getKey(), value.getValue());
+		return spec.map((row, metadata) -> row.get(0, Long.class))
+				.one()
+				.map(id -> {
+					player.setId(id);
+					return player;
+				});
+	}
+
+	public Mono<Integer> update(Player player) {
+		Statement statement = new Statement("UPDATE player SET name = :name, title = :title, race = :race, profession = :profession"
+				+ ", birthday = :birthday, banned = :banned, experience = :experience, level = :level, untilNextLevel = :untilNextLevel"
+				+ " WHERE id = :id").values(player);
+		statement.params.put("id", player.getId());
+		return statement.bind(client.execute(statement.sql.toString())).fetch().rowsUpdated();
+	}
+
+	public Mono<Integer> delete(long id) {
+		return client.execute("DELETE FROM player WHERE id = :id")
+				.bind("id", id)
+				.fetch().rowsUpdated();
+	}
+
+	private static Player player(Row row) {
+		Player player = new Player();
+		player.setId(row.get("id", Long.class));
+		player.setName(row.get("name", String.class));
+		player.setTitle(row.get("title", String.class));
+		String race = row.get("race", String.class);
+		player.setRace(race != null ? Race.valueOf(race) : null);
+		String profession = row.get("profession", String.class);
+		player.setProfession(profession != null ? Profession.valueOf(profession) : null);
+		LocalDate birthday = row.get("birthday", LocalDate.class);
+		// the same instant as the timestamp Hibernate reads for the DATE column
+		player.setBirthday(birthday != null ? Timestamp.valueOf(birthday.atStartOfDay()) : null);
+		player.setBanned(row.get("banned", Boolean.class));
+		player.setExperience(row.get("experience", Integer.class));
+		player.setLevel(row.get("level", Integer.class));
+		player.setUntilNextLevel(row.get("untilNextLevel", Integer.class));
+		return player;
+	}
+
+	private static LocalDateTime dateTime(long millis) {
+		return new Timestamp(millis).toLocalDateTime();
+	}
+
+	private static String containsPattern(String value) {
+		StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+		for (char c : value.toCharArray()) {
+			if (c == '%' || c == '_' || c == LIKE_ESCAPE) pattern.append(LIKE_ESCAPE);
+			pattern.append(c);
+		}
+		return pattern.append('%').toString();
+	}
+
+	/**
+	 * SQL with named parameters, which are bound in one go when the statement is executed.
+	 */
+	private class Statement {
+		private final StringBuilder sql;
+		private final Map<String, Object> params = new LinkedHashMap<>();
+		private final Map<String, Class<?>> nulls = new LinkedHashMap<>();
+
+		Statement(String sql) {
+			this.sql = new StringBuilder(sql);
+		}
+
+		Statement where(PlayerQuery query, boolean afterCursor) {
+			List<String> conditions = new ArrayList<>();
+			if (query.getName() != null)
+				conditions.add(like("name", query.getName()));
+			if (query.getTitle() != null)
+				conditions.add(like("title", query.getTitle()));
+			if (query.getRace() != null)
+				conditions.add(condition("race = :race", "race", query.getRace().name()));
+			if (query.getProfession() != null)
+				conditions.add(condition("profession = :profession", "profession", query.getProfession().name()));
+			if (query.getAfter() != null)
+				conditions.add(condition("birthday > :after", "after", dateTime(query.getAfter())));
+			if (query.getBefore() != null)
+				conditions.add(condition("birthday < :before", "before", dateTime(query.getBefore())));
+			if (query.getBanned() != null)
+				conditions.add(condition("banned = :banned", "banned", query.getBanned()));
+			if (query.getMinExperience() != null)
+				conditions.add(condition("experience >= :minExperience", "minExperience", query.getMinExperience()));
+			if (query.getMaxExperience() != null)
+				conditions.add(condition("experience <= :maxExperience", "maxExperience", query.getMaxExperience()));
+			if (query.getMinLevel() != null)
+				conditions.add(condition("level >= :minLevel", "minLevel", query.getMinLevel()));
+			if (query.getMaxLevel() != null)
+				conditions.add(condition("level <= :maxLevel", "maxLevel", query.getMaxLevel()));
+			if (afterCursor && query.getCursor() != null)
+				conditions.add(after(query.getCursor()));
+			if (!conditions.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", conditions));
+			return this;
+		}
+
+		/**
+		 * Seeks past the (field, id) key of the cursor, like {@link com.game.repository.PlayerSpecifications#after}.
+		 */
+		private String after(PlayerCursor cursor) {
+			params.put("cursorId", cursor.getId());
+			if (cursor.getOrder() == PlayerOrder.ID) return "id > :cursorId";
+			String field = cursor.getOrder().getFieldName();
+			params.put("cursorKey", cursor.getOrder() == PlayerOrder.BIRTHDAY ? dateTime((Long) cursor.getKey()) : cursor.getKey());
+			return "(" + field + " > :cursorKey OR " + field + " = :cursorKey AND id > :cursorId)";
+		}
+
+		/**
+		 * Orders by the field of the requested {@link PlayerOrder}, with {@code id} as a tie-breaker.
+		 */
+		Statement orderBy(PlayerOrder order) {
+			sql.append(" ORDER BY ");
+			if (order != PlayerOrder.ID) sql.append(order.getFieldName()).append(", ");
+			sql.append(PlayerOrder.ID.getFieldName());
+			return this;
+		}
+
+		Statement values(Player player) {
+			value("name", player.getName(), String.class);
+			value("title", player.getTitle(), String.class);
+			value("race", player.getRace() != null ? player.getRace().name() : null, String.class);
+			value("profession", player.getProfession() != null ? player.getProfession().name() : null, String.class);
+			value("birthday", player.getBirthday() != null ? dateTime(player.getBirthday().getTime()).toLocalDate() : null, LocalDate.class);
+			value("banned", player.getBanned(), Boolean.class);
+			value("experience", player.getExperience(), Integer.class);
+			value("level", player.getLevel(), Integer.class);
+			value("untilNextLevel", player.getUntilNextLevel(), Integer.class);
+			return this;
+		}
+
+		Flux<Player> select() {
+			return bind(client.execute(sql.toString())).map(ReactivePlayerRepository::player).all();
+		}
+
+		DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec) {
+			for (Map.Entry<String, Object> param : params.entrySet()) spec = spec.bind(param.getKey(), param.getValue());
+			for (Map.Entry<String, Class<?>> param : nulls.entrySet()) spec = spec.bindNull(param.getKey(), param.getValue());
+			return spec;
+		}
+
+		private String like(String field, String value) {
+			params.put(field, containsPattern(value));
+			return field + " LIKE :" + field + " ESCAPE '" + LIKE_ESCAPE + "'";
+		}
+
+		private String condition(String condition, String name, Object value) {
+			params.put(name, value);
+			return condition;
+		}
+
+		private void value(String name, Object value, Class<?> type) {
+			if (value != null) params.put(name, value);
+			else nulls.put(name, type);
+		}
+	}
+}
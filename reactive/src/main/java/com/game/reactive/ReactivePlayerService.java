@@ -0,0 +1,97 @@
+package com.game.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.game.entity.Player;
+import com.game.service.PlayerPage;
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerRules;
+import com.game.service.exceptions.PlayerNotFoundException;
+import com.game.service.exceptions.PlayerValidationException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The operations of {@link com.game.service.PlayerServiceImpl} as publishers: the same validation,
+ * level calculation and errors, signalled instead of thrown. Nothing here blocks a thread.
+ */
+@Service
+public class ReactivePlayerService {
+
+	private final ReactivePlayerRepository repository;
+	private final TransactionalOperator transactions;
+
+	@Autowired
+	public ReactivePlayerService(ReactivePlayerRepository repository, TransactionalOperator transactions) {
+		this.repository = repository;
+		this.transactions = transactions;
+	}
+
+	public Flux<Player> getPlayers(PlayerQuery query) {
+		return repository.findPage(query);
+	}
+
+	/**
+	 * Every player matching the filter, in the requested order, read as the subscriber asks for them.
+	 */
+	public Flux<Player> getAllPlayers(PlayerQuery query) {
+		return repository.findAll(query);
+	}
+
+	public Mono<Integer> getCount(PlayerQuery query) {
+		return repository.count(query);
+	}
+
+	public Mono<PlayerPage> getPage(PlayerQuery query) {
+		return Mono.zip(repository.findPage(query).collectList(), repository.count(query))
+				.map(page -> PlayerPage.of(page.getT1(), page.getT2(), query));
+	}
+
+	public Mono<Player> getPlayerById(Long id) {
+		if (id == null || id == 0) return Mono.error(new PlayerValidationException());
+		return repository.findById(id).switchIfEmpty(Mono.error(new PlayerNotFoundException()));
+	}
+
+	public Mono<Player> create(Player player) {
+		return Mono.fromCallable(() -> {
+			PlayerRules.validate(player);
+			PlayerRules.calculateLevel(player);
+			return player;
+		}).flatMap(repository::insert);
+	}
+
+	/**
+	 * Reads the player and writes the merged row in one transaction.
+	 */
+	public Mono<Player> update(Player player, Long id) {
+		return getPlayerById(id).flatMap(updatedPlayer -> {
+			if (player.getName() != null) updatedPlayer.setName(player.getName());
+			if (player.getTitle() != null) updatedPlayer.setTitle(player.getTitle());
+			if (player.getRace() != null) updatedPlayer.setRace(player.getRace());
+			if (player.getProfession() != null) updatedPlayer.setProfession(player.getProfession());
+			if (player.getBirthday() != null) updatedPlayer.setBirthday(player.getBirthday());
+			if (player.getBanned() != null) updatedPlayer.setBanned(player.getBanned());
+			if (player.getExperience() != null && !player.getExperience().equals(updatedPlayer.getExperience())) {
+				updatedPlayer.setExperience(player.getExperience());
+				PlayerRules.calculateLevel(updatedPlayer);
+			}
+			try {
+				PlayerRules.validate(updatedPlayer);
+			}
+			catch (PlayerValidationException e) {
+				return Mono.error(e);
+			}
+			return repository.update(updatedPlayer).thenReturn(updatedPlayer);
+		}).as(transactions::transactional);
+	}
+
+	public Mono<Void> delete(Long id) {
+		return getPlayerById(id)
+				.flatMap(player -> repository.delete(player.getId()))
+				.then()
+				.as(transactions::transactional);
+	}
+}
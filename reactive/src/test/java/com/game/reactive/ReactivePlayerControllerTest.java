@@ -0,0 +1,179 @@
+package com.game.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.service.PlayerQuery;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.connectionfactory.init.ResourceDatabasePopulator;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ActiveProfiles("dev")
+@ContextConfiguration(classes = ReactiveConfig.class)
+public class ReactivePlayerControllerTest {
+
+    private static final MediaType NDJSON = ReactiveConfig.APPLICATION_NDJSON;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Autowired
+    private ApplicationContext context;
+    @Autowired
+    private ConnectionFactory connectionFactory;
+    @Autowired
+    private ReactivePlayerService service;
+
+    private WebTestClient client;
+
+    @Before
+    public void setup() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("test.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.execute(connectionFactory).block();
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    //test1
+    @Test
+    public void filterAndOrderMatchTheServletApi() throws Exception {
+        JsonNode players = json("/rest/players?race=ELF&minLevel=10&order=LEVEL&pageSize=100");
+        int count = Integer.parseInt(new String(client.get().uri("/rest/players/count?race=ELF&minLevel=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody(), "UTF-8"));
+
+        assertEquals("Количество должно совпадать с размером списка.", count, players.size());
+        assertTrue("Фильтр должен находить игроков.", count > 0);
+        for (int i = 0; i < players.size(); i++) {
+            JsonNode player = players.get(i);
+            assertEquals("Раса должна совпадать с фильтром.", "ELF", player.get("race").asText());
+            assertTrue("Уровень должен быть не меньше минимального.", player.get("level").asInt() >= 10);
+            if (i > 0) {
+                JsonNode previous = players.get(i - 1);
+                assertTrue("Игроки должны быть упорядочены по уровню и id.", previous.get("level").asInt() < player.get("level").asInt()
+                        || previous.get("level").asInt() == player.get("level").asInt() && previous.get("id").asLong() < player.get("id").asLong());
+            }
+        }
+        assertEquals("Имя должно искаться по подстроке.", 1, json("/rest/players?name=Ниус").size());
+    }
+
+    //test2
+    @Test
+    public void cursorPagesCoverTheWholeListing() throws Exception {
+        List<Long> all = ids(json("/rest/players?order=NAME&pageSize=100"));
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            EntityExchangeResult<byte[]> page = client.get()
+                    .uri("/rest/players?order=NAME&pageSize=7" + (cursor != null ? "&cursor=" + cursor : ""))
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody().returnResult();
+            paged.addAll(ids(mapper.readTree(page.getResponseBody())));
+            cursor = page.getResponseHeaders().getFirst(ReactivePlayerController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals("Страницы по курсору должны содержать всех игроков по порядку.", all, paged);
+    }
+
+    //test3
+    @Test
+    public void streamCarriesTheSamePlayersAsTheArray() throws Exception {
+        JsonNode array = json("/rest/players?order=EXPERIENCE&pageSize=30");
+
+        String stream = new String(client.get().uri("/rest/players?order=EXPERIENCE&pageSize=30")
+                .accept(NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(NDJSON)
+                .expectBody().returnResult().getResponseBody(), "UTF-8");
+        String[] lines = stream.trim().split("\n");
+
+        assertEquals("Каждый игрок должен быть отдельной строкой.", array.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals("Строка потока должна совпадать с элементом массива.", array.get(i), mapper.readTree(lines[i]));
+        }
+    }
+
+    //test4
+    @Test
+    public void streamIsReadAtThePaceOfTheSubscriber() {
+        StepVerifier.create(service.getAllPlayers(PlayerQuery.builder().build()), 0)
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .thenCancel()
+                .verify();
+    }
+
+    //test5
+    @Test
+    public void createUpdateAndDelete() throws Exception {
+        JsonNode created = mapper.readTree(client.post().uri("/rest/players")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Реактив\", \"title\": \"Без блокировок\", \"race\": \"DWARF\", \"profession\": \"WARRIOR\", "
+                        + "\"birthday\": 988059600000, \"banned\": false, \"experience\": 5000}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody());
+        long id = created.get("id").asLong();
+        assertEquals("Уровень должен вычисляться.", 9, created.get("level").asInt());
+        JsonNode read = json("/rest/players/" + id);
+        for (String field : new String[]{"name", "title", "race", "profession", "experience", "level", "untilNextLevel", "banned"}) {
+            assertEquals("Созданный игрок должен читаться: " + field, created.get(field), read.get(field));
+        }
+
+        client.post().uri("/rest/players/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"experience\": 10}")
+                .exchange()
+                .expectStatus().isOk();
+        JsonNode updated = json("/rest/players/" + id);
+        assertEquals("Уровень должен пересчитываться.", 0, updated.get("level").asInt());
+        assertEquals("Остальные поля не должны меняться.", created.get("title"), updated.get("title"));
+
+        client.post().uri("/rest/players/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"Слишком длинное имя\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.delete().uri("/rest/players/" + id).exchange().expectStatus().isOk();
+        client.get().uri("/rest/players/" + id).exchange().expectStatus().isNotFound();
+        client.get().uri("/rest/players/0").exchange().expectStatus().isBadRequest();
+    }
+
+    private JsonNode json(String uri) throws Exception {
+        return mapper.readTree(client.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBody());
+    }
+
+    private static List<Long> ids(JsonNode players) {
+        List<Long> ids = new ArrayList<>();
+        players.forEach(player -> ids.add(player.get("id").asLong()));
+        return ids;
+    }
+}
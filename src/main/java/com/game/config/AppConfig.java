@@ -1,32 +1,58 @@
 package com.game.config;
 
+import com.game.entity.Player;
+import com.game.monitoring.ConnectionPoolMetrics;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.annotation.PersistenceExceptionTranslationPostProcessor;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
-import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.SharedCacheMode;
 import javax.sql.DataSource;
+import java.net.URI;
+import java.util.OptionalLong;
 import java.util.Properties;
-
-import static org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType.H2;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableTransactionManagement
-@ComponentScan("com.game")
+@ComponentScan(basePackages = "com.game", excludeFilters = @ComponentScan.Filter(classes = {Controller.class, EnableWebMvc.class}))
 @EnableJpaRepositories(basePackages = "com.game.repository")
+@PropertySource("classpath:application.properties")
 public class AppConfig {
 
+    private final Environment env;
+
+    @Autowired
+    public AppConfig(Environment env) {
+        this.env = env;
+    }
+
     @Bean
     public LocalContainerEntityManagerFactoryBean entityManagerFactory() {
         LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
@@ -36,32 +62,67 @@ public class AppConfig {
         JpaVendorAdapter vendorAdapter = new HibernateJpaVendorAdapter();
         em.setJpaVendorAdapter(vendorAdapter);
         em.setJpaProperties(additionalProperties());
+        em.getJpaPropertyMap().put("hibernate.javax.cache.cache_manager", hibernateCacheManager());
+        em.setSharedCacheMode(SharedCacheMode.ENABLE_SELECTIVE);
 
         return em;
     }
 
+    /**
+     * In-process JCache manager backing the Hibernate second-level cache. The regions are created
+     * up front with bounded sizes and TTLs; the update timestamps region must never expire, or the
+     * query cache could return results older than the last write.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("rpg-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        cacheManager.createCache(Player.class.getName(),
+                cacheConfiguration(env.getRequiredProperty("cache.player.maximum-size", Long.class), env.getRequiredProperty("cache.player.ttl-seconds", Long.class)));
+        cacheManager.createCache("default-query-results-region",
+                cacheConfiguration(env.getRequiredProperty("cache.query.maximum-size", Long.class), env.getRequiredProperty("cache.query.ttl-seconds", Long.class)));
+        cacheManager.createCache("default-update-timestamps-region", new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
     @Profile("prod")
-    @Bean
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName("com.mysql.cj.jdbc.Driver");
-        dataSource.setUrl("jdbc:mysql://localhost:3306/rpg?serverTimezone=UTC&characterEncoding=UTF-8");
-        dataSource.setUsername("root");
-        dataSource.setPassword("root");
-        return dataSource;
+        HikariConfig config = poolConfig();
+        config.setPoolName("rpg");
+        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        config.setJdbcUrl(env.getRequiredProperty("db.url"));
+        config.setUsername(env.getRequiredProperty("db.username"));
+        config.setPassword(env.getRequiredProperty("db.password"));
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", env.getRequiredProperty("db.statement-cache.size"));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", env.getRequiredProperty("db.statement-cache.sql-limit"));
+        // sends a JDBC batch of inserts as multi-row INSERT statements
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // honours the fetch size of streaming reads instead of buffering the whole result
+        config.addDataSourceProperty("useCursorFetch", "true");
+        return new HikariDataSource(config);
     }
 
     @Profile("dev")
-    @Bean(name = "dataSource")
+    @Bean(name = "dataSource", destroyMethod = "close")
     public DataSource dataSourceForTests() {
+        HikariConfig config = poolConfig();
+        config.setPoolName("rpg-dev");
+        config.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        DataSource dataSource = new HikariDataSource(config);
 
-        return new EmbeddedDatabaseBuilder()
-                .generateUniqueName(true)
-                .setType(H2)
-                .setScriptEncoding("UTF-8")
-                .ignoreFailedDrops(true)
-                .addScript("test.sql")
-                .build();
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("test.sql"));
+        populator.setSqlScriptEncoding("UTF-8");
+        populator.setIgnoreFailedDrops(true);
+        DatabasePopulatorUtils.execute(populator, dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
     }
 
     @Bean
@@ -77,9 +138,36 @@ public class AppConfig {
         return new PersistenceExceptionTranslationPostProcessor();
     }
 
+    private HikariConfig poolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setMaximumPoolSize(env.getRequiredProperty("db.pool.maximum-size", Integer.class));
+        config.setMinimumIdle(env.getRequiredProperty("db.pool.minimum-idle", Integer.class));
+        config.setConnectionTimeout(env.getRequiredProperty("db.pool.connection-timeout-ms", Long.class));
+        config.setIdleTimeout(env.getRequiredProperty("db.pool.idle-timeout-ms", Long.class));
+        config.setMaxLifetime(env.getRequiredProperty("db.pool.max-lifetime-ms", Long.class));
+        config.setLeakDetectionThreshold(env.getRequiredProperty("db.pool.leak-detection-threshold-ms", Long.class));
+        config.setMetricsTrackerFactory(connectionPoolMetrics());
+        return config;
+    }
+
+    private static CaffeineConfiguration<Object, Object> cacheConfiguration(long maximumSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return configuration;
+    }
+
     private Properties additionalProperties() {
         Properties properties = new Properties();
         properties.setProperty("hibernate.dialect", "org.hibernate.dialect.MySQL5Dialect");
+        properties.setProperty("hibernate.cache.use_second_level_cache", "true");
+        properties.setProperty("hibernate.cache.use_query_cache", "true");
+        properties.setProperty("hibernate.cache.region.factory_class", "jcache");
+        properties.setProperty("hibernate.javax.cache.missing_cache_strategy", "fail");
+        properties.setProperty("hibernate.generate_statistics", "true");
+        properties.setProperty("hibernate.jdbc.batch_size", env.getRequiredProperty("db.batch-size"));
+        properties.setProperty("hibernate.order_inserts", "true");
+        properties.setProperty("hibernate.order_updates", "true");
 
         return properties;
     }
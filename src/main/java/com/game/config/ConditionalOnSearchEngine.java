@@ -0,0 +1,20 @@
+package com.game.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.context.annotation.Conditional;
+
+/**
+ * Registers the annotated component only when the {@code search.engine} property selects it.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Conditional(OnSearchEngineCondition.class)
+public @interface ConditionalOnSearchEngine {
+    String value();
+}
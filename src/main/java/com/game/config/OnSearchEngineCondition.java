@@ -0,0 +1,20 @@
+package com.game.config;
+
+import java.util.Map;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+class OnSearchEngineCondition implements Condition {
+
+    static final String PROPERTY = "search.engine";
+    static final String DEFAULT_ENGINE = "index";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(ConditionalOnSearchEngine.class.getName());
+        String engine = context.getEnvironment().getProperty(PROPERTY, DEFAULT_ENGINE);
+        return attributes != null && engine.equals(attributes.get("value"));
+    }
+}
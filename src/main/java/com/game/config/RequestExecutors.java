@@ -0,0 +1,66 @@
+package com.game.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for asynchronous request processing. Both accept a bounded number of requests and
+ * reject the rest, so that an overload is answered at once instead of piling up.
+ */
+final class RequestExecutors {
+
+	private RequestExecutors() {}
+
+	/**
+	 * A fixed pool of platform threads with a bounded queue in front of it.
+	 */
+	static AsyncTaskExecutor platform(int threads, int queueCapacity) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("request-");
+		return executor;
+	}
+
+	/**
+	 * A virtual thread per request, up to {@code limit} requests at a time. Virtual threads need
+	 * JDK 21 or newer; they are looked up by reflection so that the application still builds and
+	 * runs on older JDKs in the platform mode.
+	 */
+	static AsyncTaskExecutor virtual(int limit) {
+		ExecutorService threads;
+		try {
+			threads = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("web.async.executor=virtual needs JDK 21 or newer, running on " + System.getProperty("java.version"), e);
+		}
+		Semaphore permits = new Semaphore(limit);
+		Executor bounded = task -> {
+			if (!permits.tryAcquire()) throw new RejectedExecutionException("More than " + limit + " requests in progress");
+			try {
+				threads.execute(() -> {
+					try {
+						task.run();
+					}
+					finally {
+						permits.release();
+					}
+				});
+			}
+			catch (RejectedExecutionException e) {
+				permits.release();
+				throw e;
+			}
+		};
+		return new TaskExecutorAdapter(bounded);
+	}
+}
@@ -2,12 +2,24 @@ package com.game.config;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.PlayerJsonCache;
+import com.game.controller.PlayerJsonHttpMessageConverter;
+import com.game.json.PlayerJsonModule;
+import com.game.service.PlayerService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.ViewResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
@@ -19,9 +31,17 @@ import java.util.List;
 
 @Configuration
 @EnableWebMvc
-@ComponentScan("com.game")
+@ComponentScan("com.game.controller")
 public class WebConfig implements WebMvcConfigurer {
 
+    private final PlayerService playerService;
+    private final Environment env;
+
+    @Autowired
+    public WebConfig(PlayerService playerService, Environment env) {
+        this.playerService = playerService;
+        this.env = env;
+    }
 
     @Bean
     public ViewResolver internalResourceViewResolver() {
@@ -42,11 +62,56 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addResourceHandler("/resources/**").addResourceLocations("/resources/");
     }
 
+    /**
+     * The mapper of the JSON message converter, shared with controllers that write JSON themselves.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        return configure(Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    /**
+     * Makes the mapper read and write fields rather than getters and setters, and players through
+     * their hand-written codec, so that every wire format carries the same properties as the JSON
+     * of the UI.
+     */
+    public static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        mapper.registerModule(new PlayerJsonModule());
+        return mapper;
+    }
+
+    @Bean
+    public PlayerJsonCache playerJsonCache() {
+        return new PlayerJsonCache(playerService, objectMapper(), env.getRequiredProperty("cache.player-json.maximum-bytes", Long.class));
+    }
+
+    /**
+     * Runs the controllers' database work, so that container threads only parse requests and
+     * write responses. Its size, not the container's, limits the concurrent requests.
+     */
+    @Bean
+    public AsyncTaskExecutor requestExecutor() {
+        int threads = env.getRequiredProperty("web.async.threads", Integer.class);
+        int queueCapacity = env.getRequiredProperty("web.async.queue-capacity", Integer.class);
+        if ("virtual".equals(env.getRequiredProperty("web.async.executor"))) return RequestExecutors.virtual(threads + queueCapacity);
+        return RequestExecutors.platform(threads, queueCapacity);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(requestExecutor());
+        configurer.setDefaultTimeout(env.getRequiredProperty("web.async.timeout-ms", Long.class));
+    }
+
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
-        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter();
-        converter.getObjectMapper().setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
-        converter.getObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
-        converters.add(converter);
+        // ahead of Jackson, which still reads players and writes everything else
+        converters.add(new PlayerJsonHttpMessageConverter(playerJsonCache()));
+        converters.add(new MappingJackson2HttpMessageConverter(objectMapper()));
+        // binary formats for the game servers, chosen by Accept and Content-Type; JSON stays the default
+        converters.add(new MappingJackson2CborHttpMessageConverter(configure(Jackson2ObjectMapperBuilder.cbor().build())));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(configure(Jackson2ObjectMapperBuilder.smile().build())));
     }
 }
\ No newline at end of file
@@ -1,10 +1,28 @@
 package com.game.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -12,12 +30,22 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.game.entity.Player;
 import com.game.entity.Profession;
 import com.game.entity.Race;
 import com.game.service.exceptions.PlayerNotFoundException;
+import com.game.service.PlayerBatchResult;
+import com.game.service.PlayerBulkUpdate;
+import com.game.service.PlayerCursor;
+import com.game.service.PlayerImportResult;
+import com.game.service.PlayerPage;
+import com.game.service.PlayerQuery;
 import com.game.service.PlayerService;
 import com.game.service.exceptions.PlayerValidationException;
 
@@ -25,86 +53,340 @@ import com.game.service.exceptions.PlayerValidationException;
 @RestController
 public class PlayerController {
 
+	static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	/** The formats of the message converters, in their order. */
+	private static final List<MediaType> FORMATS = Arrays.asList(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR
+			, MediaType.valueOf("application/x-jackson-smile"));
+
 	private final PlayerService service;
+	private final ObjectMapper mapper;
+	private final AsyncTaskExecutor executor;
+	private final long streamTimeout;
 
 	@Autowired
-	public PlayerController(PlayerService service) {
+	public PlayerController(PlayerService service, ObjectMapper mapper, AsyncTaskExecutor executor
+			, @Value("${web.async.stream-timeout-ms}") long streamTimeout) {
 		this.service = service;
+		this.mapper = mapper;
+		this.executor = executor;
+		this.streamTimeout = streamTimeout;
 	}
 	
+	/**
+	 * Returns one page of players. Pages are addressed either by {@code pageNumber} or by the opaque
+	 * {@code cursor} from the {@value #NEXT_CURSOR_HEADER} header of the previous page, which seeks
+	 * on the sort key and stays stable while players are added.
+	 */
 	@GetMapping("/rest/players")
-	public @ResponseBody List<Player> getPlayersList(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+	public CompletableFuture<ResponseEntity<List<Player>>> getPlayersList(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
 			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
 			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
 			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
 			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
 			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
-			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize) {
-		return service.getPlayers(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel, order, pageNumber, pageSize);
+			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize
+			, @RequestParam(value = "cursor", required = false) String cursor, ServletWebRequest request) {
+		if (notModified(request, service.getVersion())) return null;
+		PlayerQuery query = page(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel).order(order), pageNumber, pageSize)
+				.cursor(cursor(cursor, order))
+				.build();
+		return async(() -> {
+			List<Player> players = service.getPlayers(query);
+			PlayerCursor nextCursor = PlayerCursor.next(players, query);
+			ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+			if (nextCursor != null) response.header(NEXT_CURSOR_HEADER, nextCursor.encode());
+			return response.body(players);
+		});
 	}
 	
 	@GetMapping("/rest/players/count")
-	public @ResponseBody int getPlayersCount(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+	public @ResponseBody CompletableFuture<Integer> getPlayersCount(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
 			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
 			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
 			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
 			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
-			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel) {
-		return service.getCount(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel);
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, ServletWebRequest request) {
+		if (notModified(request, service.getVersion())) return null;
+		PlayerQuery query = filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.build();
+		return async(() -> service.getCount(query));
+	}
+	
+	@GetMapping("/rest/players/page")
+	public @ResponseBody CompletableFuture<PlayerPage> getPlayersPage(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "pageNumber", required = false) Integer pageNumber, @RequestParam(value = "pageSize", required = false) Integer pageSize
+			, @RequestParam(value = "cursor", required = false) String cursor, ServletWebRequest request) {
+		if (notModified(request, service.getVersion())) return null;
+		PlayerQuery query = page(filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel).order(order), pageNumber, pageSize)
+				.cursor(cursor(cursor, order))
+				.build();
+		return async(() -> service.getPage(query));
+	}
+	
+	/**
+	 * Streams every player matching the filter in the requested order as NDJSON or CSV. Rows are
+	 * written while they are read from the database, so memory use does not grow with their number.
+	 * The export may run for up to {@code web.async.stream-timeout-ms}.
+	 */
+	@GetMapping("/rest/players/export")
+	public WebAsyncTask<Void> exportPlayers(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestParam(value = "order", required = false) PlayerOrder order
+			, @RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format, HttpServletResponse response) {
+		PlayerQuery query = filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.order(order)
+				.build();
+		response.setContentType(format.getContentType());
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"players." + format.getExtension() + "\"");
+		return new WebAsyncTask<>(streamTimeout, executor, () -> {
+			try (PlayerExportWriter writer = new PlayerExportWriter(format, response.getOutputStream(), mapper)) {
+				service.forEach(query, player -> {
+					try {
+						writer.write(player);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			return null;
+		});
 	}
 	
 	@PostMapping("/rest/players")
-	public @ResponseBody Player createPlayer(@RequestBody Player player) {
-		Player createdPlayer;
-		try {
-			createdPlayer = service.create(player);
-		}
-		catch (PlayerValidationException e) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
-		}
-		return createdPlayer;
+	public @ResponseBody CompletableFuture<Player> createPlayer(@RequestBody Player player) {
+		return async(() -> {
+			try {
+				return service.create(player);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	/**
+	 * Creates all valid players of the array in one transaction and reports every element:
+	 * the created player or the reason it was rejected.
+	 */
+	@PostMapping("/rest/players/batch")
+	public @ResponseBody CompletableFuture<PlayerBatchResult> createPlayers(@RequestBody List<Player> players) {
+		return async(() -> service.createAll(players));
+	}
+	
+	/**
+	 * Creates the players of an NDJSON or CSV upload, in the layout written by the export. The body
+	 * is read while the players are inserted, so the upload can be of any size. The import may run
+	 * for up to {@code web.async.stream-timeout-ms}.
+	 */
+	@PostMapping("/rest/players/import")
+	public @ResponseBody WebAsyncTask<PlayerImportResult> importPlayers(@RequestParam(value = "format", defaultValue = "NDJSON") ExportFormat format
+			, HttpServletRequest request) {
+		return new WebAsyncTask<>(streamTimeout, executor
+				, () -> service.importAll(new PlayerImportReader(format, request.getInputStream(), mapper)));
 	}
 	
 	@GetMapping("/rest/players/{id}")
-	public @ResponseBody Player getPlayer(@PathVariable("id") Long id) {
-		Player player;
+	public @ResponseBody CompletableFuture<Player> getPlayer(@PathVariable("id") Long id, ServletWebRequest request) {
+		if (id != null && notModified(request, service.getVersion(id))) return null;
+		return async(() -> {
+			try {
+				return service.getPlayerById(id);
+			}
+			catch (PlayerNotFoundException e) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	@PostMapping("/rest/players/{id}")
+	public @ResponseBody CompletableFuture<Player> updatePlayer(@PathVariable("id") Long id, @RequestBody Player player) {
+		return async(() -> {
+			try {
+				return service.update(player, id);
+			}
+			catch (PlayerNotFoundException e) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	/**
+	 * Applies the change in the body to every player matching the filter, which takes the same
+	 * parameters as {@code /rest/players/count} and must not be empty, and returns the number of
+	 * updated players.
+	 */
+	@PostMapping("/rest/players/bulk")
+	public @ResponseBody CompletableFuture<Integer> updatePlayers(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel, @RequestBody PlayerBulkUpdate change) {
+		PlayerQuery query = filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.build();
+		return async(() -> {
+			try {
+				return service.updateAll(query, change);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	@DeleteMapping("/rest/players/{id}")
+	public CompletableFuture<Void> deletePlayer(@PathVariable("id") Long id) {
+		return async(() -> {
+			try {
+				service.delete(id);
+				return null;
+			}
+			catch (PlayerNotFoundException e) {
+				throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	/**
+	 * Deletes every player matching the filter, which takes the same parameters as
+	 * {@code /rest/players/count} and must not be empty, and returns the number of deleted players.
+	 */
+	@DeleteMapping("/rest/players/bulk")
+	public @ResponseBody CompletableFuture<Integer> deletePlayers(@RequestParam(value = "name", required = false) String name, @RequestParam(value = "title", required = false) String title
+			, @RequestParam(value = "race", required = false) Race race, @RequestParam(value = "profession", required = false) Profession profession
+			, @RequestParam(value = "after", required = false) Long after, @RequestParam(value = "before", required = false) Long before
+			, @RequestParam(value = "banned", required = false) Boolean banned, @RequestParam(value = "minExperience", required = false) Integer minExperience
+			, @RequestParam(value = "maxExperience", required = false) Integer maxExperience, @RequestParam(value = "minLevel", required = false) Integer minLevel
+			, @RequestParam(value = "maxLevel", required = false) Integer maxLevel) {
+		PlayerQuery query = filter(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel)
+				.build();
+		return async(() -> {
+			try {
+				return service.deleteAll(query);
+			}
+			catch (PlayerValidationException e) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+			}
+		});
+	}
+	
+	/**
+	 * More requests are waiting for a database connection than the executor accepts.
+	 */
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<Void> rejected() {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+	}
+	
+	/**
+	 * Runs the call on the request executor, so that the container thread is free again while the
+	 * call waits on the database. Exceptions complete the future and are handled as if the call had
+	 * thrown them directly.
+	 */
+	private <T> CompletableFuture<T> async(Callable<T> call) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return call.call();
+			}
+			catch (RuntimeException e) {
+				throw e;
+			}
+			catch (Exception e) {
+				throw new CompletionException(e);
+			}
+		}, executor);
+	}
+	
+	private static PlayerCursor cursor(String cursor, PlayerOrder order) {
+		if (cursor == null) return null;
 		try {
-			player = service.getPlayerById(id);
-		}
-		catch (PlayerNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+			return PlayerCursor.decode(cursor, order != null ? order : PlayerOrder.ID);
 		}
 		catch (PlayerValidationException e) {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
 		}
-		return player;
 	}
 	
-	@PostMapping("/rest/players/{id}")
-	public @ResponseBody Player updatePlayer(@PathVariable("id") Long id, @RequestBody Player player) {
-		Player updatedPlayer;
+	/**
+	 * Sets the ETag and Last-Modified headers from a data version and tells whether the client
+	 * already has that version, in which case the response is 304 and nothing has to be read. The
+	 * version is taken before the data, so a response is never tagged newer than its content; it
+	 * also tells the {@link PlayerJsonCache} which of its entries are still current.
+	 * <p>
+	 * Last-Modified and If-Modified-Since have a resolution of one second, and versions are in
+	 * milliseconds. Last-Modified is therefore only sent once the second of the version is over:
+	 * any later change gets a version in a later second, so a client holding the date cannot be
+	 * told 304 for it. Until then the ETag alone validates.
+	 * <p>
+	 * The ETag is strong, so it names the negotiated format along with the version: the JSON, CBOR
+	 * and Smile bodies of the same data differ byte for byte.
+	 */
+	private static boolean notModified(ServletWebRequest request, long version) {
+		request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		String etag = Long.toString(version, Character.MAX_RADIX) + "-" + format(request.getHeader(HttpHeaders.ACCEPT)).getSubtype();
+		long lastModified = version / 1000 < System.currentTimeMillis() / 1000 ? version : -1;
+		if (request.checkNotModified(etag, lastModified)) return true;
+		PlayerJsonHttpMessageConverter.setReadVersion(request, version);
+		return false;
+	}
+	
+	/**
+	 * The format the Accept header gets from the message converters: the first of {@link #FORMATS}
+	 * that the most preferred accepted type matches, and JSON when none does or the header cannot
+	 * be read, which leaves the 406 to the converters.
+	 */
+	private static MediaType format(String accept) {
 		try {
-			updatedPlayer = service.update(player, id);
+			List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+			MediaType.sortBySpecificityAndQuality(accepted);
+			for (MediaType type : accepted) {
+				if (type.getQualityValue() == 0) continue;
+				for (MediaType format : FORMATS) {
+					if (type.isCompatibleWith(format)) return format;
+				}
+			}
 		}
-		catch (PlayerNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+		catch (InvalidMediaTypeException e) {
+			// answered by the converters
 		}
-		catch (PlayerValidationException e) {
-			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
-		}
-		return updatedPlayer;
+		return MediaType.APPLICATION_JSON;
 	}
 	
-	@DeleteMapping("/rest/players/{id}")
-	public void deletePlayer(@PathVariable("id") Long id) {
+	private static PlayerQuery.Builder page(PlayerQuery.Builder query, Integer pageNumber, Integer pageSize) {
 		try {
-			service.delete(id);
-		}
-		catch (PlayerNotFoundException e) {
-			throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+			return query.pageNumber(pageNumber).pageSize(pageSize);
 		}
 		catch (PlayerValidationException e) {
 			throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
 		}
 	}
+	
+	private static PlayerQuery.Builder filter(String name, String title, Race race, Profession profession, Long after, Long before
+			, Boolean banned, Integer minExperience, Integer maxExperience, Integer minLevel, Integer maxLevel) {
+		return PlayerQuery.builder()
+				.name(name).title(title).race(race).profession(profession).after(after).before(before).banned(banned)
+				.minExperience(minExperience).maxExperience(maxExperience).minLevel(minLevel).maxLevel(maxLevel);
+	}
 }
@@ -0,0 +1,95 @@
+package com.game.controller;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import com.game.entity.Player;
+
+/**
+ * Writes players one at a time in an {@link ExportFormat}: NDJSON with one JSON object per line
+ * or CSV with a header row. Nothing but the current player and the output buffer is held, so
+ * an export of any size runs in constant memory. Closing flushes the output but leaves the
+ * underlying stream open.
+ */
+final class PlayerExportWriter implements Closeable {
+
+	static final String CSV_HEADER = "id,name,title,race,profession,birthday,banned,experience,level,untilNextLevel";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final Writer writer;
+	private final JsonGenerator json;
+	private final ObjectWriter playerWriter;
+
+	PlayerExportWriter(ExportFormat format, OutputStream out, ObjectMapper mapper) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+		if (format == ExportFormat.NDJSON) {
+			this.json = mapper.getFactory().createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			this.playerWriter = mapper.writerFor(Player.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		}
+		else {
+			this.json = null;
+			this.playerWriter = null;
+			writer.write(CSV_HEADER);
+			writer.write('\n');
+		}
+	}
+
+	void write(Player player) throws IOException {
+		if (json != null) {
+			playerWriter.writeValue(json, player);
+			json.writeRaw('\n');
+			return;
+		}
+		writer.write(String.valueOf(player.getId()));
+		writer.write(',');
+		writeCsv(player.getName());
+		writer.write(',');
+		writeCsv(player.getTitle());
+		writer.write(',');
+		writer.write(player.getRace() != null ? player.getRace().name() : "");
+		writer.write(',');
+		writer.write(player.getProfession() != null ? player.getProfession().name() : "");
+		writer.write(',');
+		writer.write(player.getBirthday() != null ? String.valueOf(player.getBirthday().getTime()) : "");
+		writer.write(',');
+		writer.write(String.valueOf(player.getBanned()));
+		writer.write(',');
+		writer.write(String.valueOf(player.getExperience()));
+		writer.write(',');
+		writer.write(String.valueOf(player.getLevel()));
+		writer.write(',');
+		writer.write(String.valueOf(player.getUntilNextLevel()));
+		writer.write('\n');
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (json != null) json.close();
+		writer.flush();
+	}
+
+	/**
+	 * Quotes the value if it contains a separator, a quote or a line break (RFC 4180).
+	 */
+	private void writeCsv(String value) throws IOException {
+		if (value == null) return;
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			writer.write(value);
+			return;
+		}
+		writer.write('"');
+		writer.write(value.replace("\"", "\"\""));
+		writer.write('"');
+	}
+}
@@ -0,0 +1,215 @@
+package com.game.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerSource;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * Reads players one record at a time in an {@link ExportFormat}, so that a file written by
+ * {@link PlayerExportWriter} can be imported again. CSV columns are matched by the names in the
+ * header row; {@code id}, {@code level} and {@code untilNextLevel} are ignored. Blank lines are
+ * skipped. At most {@link #MAX_RECORD_LENGTH} characters of a record are held: a longer NDJSON
+ * line or CSV record, such as one with a quote that is never closed, is rejected, and reading
+ * goes on with the line after the one where it went over.
+ */
+final class PlayerImportReader implements PlayerSource {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+	private final Reader reader;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position;
+	private int end;
+	private final StringBuilder lineText = new StringBuilder();
+	private final ObjectReader playerReader;
+	private final Map<String, Integer> columns;
+	/** The record {@link #hasNext()} moved to, in one of the two forms. */
+	private String json;
+	private List<String> record;
+	/** Whether the record was cut at {@link #MAX_RECORD_LENGTH} characters. */
+	private boolean overlong;
+	private int line;
+	private int nextLine = 1;
+
+	PlayerImportReader(ExportFormat format, InputStream in, ObjectMapper mapper) throws IOException {
+		this.reader = new InputStreamReader(in, StandardCharsets.UTF_8);
+		if (format == ExportFormat.NDJSON) {
+			this.playerReader = mapper.readerFor(Player.class);
+			this.columns = null;
+		}
+		else {
+			this.playerReader = null;
+			this.columns = new HashMap<>();
+			List<String> header = readRecord();
+			if (header == null) return;
+			if (overlong) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header longer than " + MAX_RECORD_LENGTH + " characters");
+			for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim(), i);
+		}
+	}
+
+	@Override
+	public boolean hasNext() throws IOException {
+		if (playerReader != null) {
+			do {
+				line = nextLine++;
+				overlong = false;
+				json = readLine(MAX_RECORD_LENGTH);
+				if (json == null) return false;
+			} while (!overlong && json.trim().isEmpty());
+			return true;
+		}
+		do {
+			record = readRecord();
+			if (record == null) return false;
+		} while (!overlong && record.size() == 1 && record.get(0).isEmpty());
+		return true;
+	}
+
+	@Override
+	public Player next() throws PlayerValidationException {
+		if (overlong) throw new PlayerValidationException("Record longer than " + MAX_RECORD_LENGTH + " characters");
+		if (playerReader == null) return toPlayer(record);
+		// a bare null would be read as no player at all
+		if (!json.trim().startsWith("{")) throw new PlayerValidationException("Not a JSON object");
+		try {
+			return playerReader.readValue(json);
+		}
+		catch (JsonProcessingException e) {
+			throw new PlayerValidationException(e.getOriginalMessage());
+		}
+	}
+	@Override
+	public int getLine() {
+		return line;
+	}
+
+	private Player toPlayer(List<String> record) throws PlayerValidationException {
+		Player player = new Player();
+		player.setName(column(record, "name"));
+		player.setTitle(column(record, "title"));
+		try {
+			String race = column(record, "race");
+			if (race != null) player.setRace(Race.valueOf(race));
+			String profession = column(record, "profession");
+			if (profession != null) player.setProfession(Profession.valueOf(profession));
+			String birthday = column(record, "birthday");
+			if (birthday != null) player.setBirthday(new Date(Long.parseLong(birthday)));
+			String experience = column(record, "experience");
+			if (experience != null) player.setExperience(Integer.valueOf(experience));
+		}
+		catch (IllegalArgumentException e) {
+			throw new PlayerValidationException(e.getMessage());
+		}
+		player.setBanned(Boolean.parseBoolean(column(record, "banned")));
+		return player;
+	}
+
+	/**
+	 * @return the value of the named column, {@code null} if it is missing or empty
+	 */
+	private String column(List<String> record, String name) {
+		Integer index = columns.get(name);
+		if (index == null || index >= record.size() || record.get(index).isEmpty()) return null;
+		return record.get(index);
+	}
+
+	/**
+	 * Splits one CSV record into fields (RFC 4180); a quoted field may span several lines, as long
+	 * as the record stays within {@link #MAX_RECORD_LENGTH} characters.
+	 *
+	 * @return the fields, {@code null} at the end of the input
+	 */
+	private List<String> readRecord() throws IOException {
+		line = nextLine;
+		overlong = false;
+		String text = readLine(MAX_RECORD_LENGTH);
+		if (text == null) return null;
+		nextLine++;
+		int length = text.length();
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true) {
+			if (i == text.length()) {
+				if (!quoted || overlong) break;
+				// a line break inside a quoted field
+				text = readLine(MAX_RECORD_LENGTH - length);
+				if (text == null) break;
+				nextLine++;
+				length += text.length();
+				field.append('\n');
+				i = 0;
+				continue;
+			}
+			char c = text.charAt(i++);
+			if (quoted) {
+				if (c != '"') field.append(c);
+				else if (i < text.length() && text.charAt(i) == '"') field.append(text.charAt(i++));
+				else quoted = false;
+			}
+			else if (c == '"') quoted = true;
+			else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			}
+			else field.append(c);
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	/**
+	 * Reads the next line like {@link java.io.BufferedReader#readLine()}, but keeps at most
+	 * {@code limit} characters of it: the rest of a longer line is skipped and {@link #overlong}
+	 * is set.
+	 *
+	 * @return the line, {@code null} at the end of the input
+	 */
+	private String readLine(int limit) throws IOException {
+		if (position == end && !fill()) return null;
+		lineText.setLength(0);
+		while (true) {
+			if (position == end && !fill()) break;
+			char c = buffer[position++];
+			if (c == '\n') break;
+			if (c == '\r') {
+				if (position < end || fill()) {
+					if (buffer[position] == '\n') position++;
+				}
+				break;
+			}
+			if (lineText.length() < limit) lineText.append(c);
+			else overlong = true;
+		}
+		return lineText.toString();
+	}
+
+	private boolean fill() throws IOException {
+		int read = reader.read(buffer, 0, buffer.length);
+		if (read <= 0) return false;
+		position = 0;
+		end = read;
+		return true;
+	}
+}
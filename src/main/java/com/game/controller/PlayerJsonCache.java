@@ -0,0 +1,79 @@
+package com.game.controller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.game.entity.Player;
+import com.game.monitoring.CacheStatistics;
+import com.game.service.PlayerService;
+
+/**
+ * The serialized JSON of players, bounded by its size in bytes. Every entry keeps the data version
+ * that was current before the player was read. The entry is only served while the player's own
+ * version is not newer, so an update or delete invalidates it without any notification. A stale
+ * entry is dropped when it is next looked up, or evicted by the size bound.
+ */
+public class PlayerJsonCache {
+
+	/** Rough memory of an entry besides its bytes: key, entry, array header and cache node. */
+	private static final int ENTRY_OVERHEAD = 96;
+
+	private final PlayerService service;
+	private final ObjectWriter writer;
+	private final Cache<Long, Entry> cache;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder puts = new LongAdder();
+
+	public PlayerJsonCache(PlayerService service, ObjectMapper mapper, long maximumBytes) {
+		this.service = service;
+		this.writer = mapper.writerFor(Player.class);
+		this.cache = Caffeine.newBuilder()
+				.maximumWeight(maximumBytes)
+				.weigher((Long id, Entry entry) -> ENTRY_OVERHEAD + entry.json.length)
+				.build();
+	}
+
+	/**
+	 * @param readVersion a data version taken before the player was read, of the whole table
+	 * or of this player
+	 */
+	public byte[] toJson(Player player, long readVersion) throws JsonProcessingException {
+		Long id = player.getId();
+		long current = service.getVersion(id);
+		Entry entry = cache.getIfPresent(id);
+		if (entry != null && entry.version >= current) {
+			hits.increment();
+			return entry.json;
+		}
+		misses.increment();
+		byte[] json = writer.writeValueAsBytes(player);
+		// a player changed after the read started may have been read before or after the change
+		if (readVersion >= current) {
+			cache.put(id, new Entry(readVersion, json));
+			puts.increment();
+		}
+		else if (entry != null) cache.invalidate(id);
+		return json;
+	}
+
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(hits.sum(), misses.sum(), puts.sum());
+	}
+
+	private static final class Entry {
+
+		final long version;
+		final byte[] json;
+
+		Entry(long version, byte[] json) {
+			this.version = version;
+			this.json = json;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.game.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.game.entity.Player;
+import com.game.service.PlayerPage;
+
+/**
+ * Writes a {@link Player}, a list of players or a {@link PlayerPage} as JSON assembled from the
+ * fragments of the {@link PlayerJsonCache}. Only responses whose handler recorded the data version it read at
+ * (see {@link #setReadVersion}) use the cache; the others are serialized as usual. Reading is
+ * left to the Jackson converter.
+ */
+public class PlayerJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+	private static final String READ_VERSION = PlayerJsonHttpMessageConverter.class.getName() + ".readVersion";
+
+	private final PlayerJsonCache cache;
+
+	public PlayerJsonHttpMessageConverter(PlayerJsonCache cache) {
+		super(MediaType.APPLICATION_JSON);
+		this.cache = cache;
+	}
+
+	/**
+	 * Records that the data of the current response was read at or after the given version.
+	 */
+	static void setReadVersion(RequestAttributes request, long version) {
+		request.setAttribute(READ_VERSION, version, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Player.class == clazz;
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		if (!canWrite(mediaType) || readVersion() == null) return false;
+		if (type == Player.class || type == PlayerPage.class) return true;
+		if (!(type instanceof ParameterizedType)) return false;
+		ParameterizedType parameterized = (ParameterizedType) type;
+		return parameterized.getRawType() == List.class && parameterized.getActualTypeArguments()[0] == Player.class;
+	}
+
+	@Override
+	protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+		long version = readVersion();
+		OutputStream out = outputMessage.getBody();
+		if (body instanceof Player) {
+			out.write(cache.toJson((Player) body, version));
+			return;
+		}
+		if (body instanceof PlayerPage) {
+			writePage((PlayerPage) body, version, out);
+			return;
+		}
+		writeList((List<?>) body, version, out);
+	}
+
+	private void writeList(List<?> players, long version, OutputStream out) throws IOException {
+		out.write('[');
+		for (int i = 0; i < players.size(); i++) {
+			if (i > 0) out.write(',');
+			out.write(cache.toJson((Player) players.get(i), version));
+		}
+		out.write(']');
+	}
+
+	/**
+	 * The properties of the page in the order the Jackson converter writes them. The cursor is
+	 * base64url and needs no escaping.
+	 */
+	private void writePage(PlayerPage page, long version, OutputStream out) throws IOException {
+		out.write("{\"items\":".getBytes(StandardCharsets.US_ASCII));
+		writeList(page.getItems(), version, out);
+		String tail = ",\"total\":" + page.getTotal() + ",\"pageNumber\":" + page.getPageNumber() + ",\"pageSize\":" + page.getPageSize()
+				+ ",\"totalPages\":" + page.getTotalPages()
+				+ ",\"nextCursor\":" + (page.getNextCursor() != null ? '"' + page.getNextCursor() + '"' : "null") + "}";
+		out.write(tail.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Players are read by the Jackson converter", inputMessage);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+		throw new HttpMessageNotReadableException("Players are read by the Jackson converter", inputMessage);
+	}
+
+	private static Long readVersion() {
+		RequestAttributes request = RequestContextHolder.getRequestAttributes();
+		return request != null ? (Long) request.getAttribute(READ_VERSION, RequestAttributes.SCOPE_REQUEST) : null;
+	}
+}
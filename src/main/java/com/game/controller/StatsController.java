@@ -0,0 +1,42 @@
+package com.game.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.game.monitoring.CacheStatistics;
+import com.game.monitoring.ConnectionPoolMetrics;
+import com.game.monitoring.ConnectionPoolStatistics;
+import com.game.monitoring.HibernateCacheMetrics;
+
+
+@RestController
+public class StatsController {
+
+	private final ConnectionPoolMetrics connectionPoolMetrics;
+	private final HibernateCacheMetrics hibernateCacheMetrics;
+	private final PlayerJsonCache playerJsonCache;
+
+	@Autowired
+	public StatsController(ConnectionPoolMetrics connectionPoolMetrics, HibernateCacheMetrics hibernateCacheMetrics
+			, PlayerJsonCache playerJsonCache) {
+		this.connectionPoolMetrics = connectionPoolMetrics;
+		this.hibernateCacheMetrics = hibernateCacheMetrics;
+		this.playerJsonCache = playerJsonCache;
+	}
+
+	@GetMapping("/rest/stats/pool")
+	public @ResponseBody ConnectionPoolStatistics getPoolStatistics() {
+		return connectionPoolMetrics.getStatistics();
+	}
+
+	@GetMapping("/rest/stats/cache")
+	public @ResponseBody Map<String, CacheStatistics> getCacheStatistics() {
+		Map<String, CacheStatistics> caches = hibernateCacheMetrics.getStatistics();
+		caches.put("playerJson", playerJsonCache.getStatistics());
+		return caches;
+	}
+}
@@ -0,0 +1,101 @@
+package com.game.json;
+
+import java.io.IOException;
+import java.util.Date;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+/**
+ * Parses a player by switching on the field name and reading the plain tokens directly. Anything
+ * unusual, such as a number given as a string or an unknown enum name, is handed to the standard
+ * deserializers, so that the same input is accepted or rejected with the same errors as by the
+ * bean deserializer. Unknown fields follow {@link DeserializationFeature#FAIL_ON_UNKNOWN_PROPERTIES}.
+ */
+public class PlayerDeserializer extends StdDeserializer<Player> {
+
+	private static final Race[] RACES = Race.values();
+	private static final Profession[] PROFESSIONS = Profession.values();
+
+	public PlayerDeserializer() {
+		super(Player.class);
+	}
+
+	@Override
+	public Player deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		JsonToken token = p.currentToken();
+		if (token == JsonToken.START_OBJECT) token = p.nextToken();
+		else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) return (Player) ctxt.handleUnexpectedToken(Player.class, p);
+		Player player = new Player();
+		for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+			String field = p.getCurrentName();
+			token = p.nextToken();
+			switch (field) {
+				case "id":
+					player.setId(token == JsonToken.VALUE_NUMBER_INT ? Long.valueOf(p.getLongValue()) : readValue(p, ctxt, Long.class));
+					break;
+				case "name":
+					player.setName(token == JsonToken.VALUE_STRING ? p.getText() : readValue(p, ctxt, String.class));
+					break;
+				case "title":
+					player.setTitle(token == JsonToken.VALUE_STRING ? p.getText() : readValue(p, ctxt, String.class));
+					break;
+				case "race":
+					player.setRace(readEnum(p, ctxt, RACES, Race.class));
+					break;
+				case "profession":
+					player.setProfession(readEnum(p, ctxt, PROFESSIONS, Profession.class));
+					break;
+				case "experience":
+					player.setExperience(readInteger(p, ctxt));
+					break;
+				case "level":
+					player.setLevel(readInteger(p, ctxt));
+					break;
+				case "untilNextLevel":
+					player.setUntilNextLevel(readInteger(p, ctxt));
+					break;
+				case "birthday":
+					player.setBirthday(token == JsonToken.VALUE_NUMBER_INT ? new Date(p.getLongValue()) : readValue(p, ctxt, Date.class));
+					break;
+				case "banned":
+					player.setBanned(token == JsonToken.VALUE_TRUE ? Boolean.TRUE : token == JsonToken.VALUE_FALSE ? Boolean.FALSE
+							: readValue(p, ctxt, Boolean.class));
+					break;
+				default:
+					if (ctxt.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES))
+						throw UnrecognizedPropertyException.from(p, player, field, null);
+					p.skipChildren();
+			}
+		}
+		if (token != JsonToken.END_OBJECT) return (Player) ctxt.handleUnexpectedToken(Player.class, p);
+		return player;
+	}
+
+	private static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+		if (p.currentToken() == JsonToken.VALUE_NUMBER_INT && p.getNumberType() == JsonParser.NumberType.INT) return p.getIntValue();
+		return readValue(p, ctxt, Integer.class);
+	}
+
+	private static <E extends Enum<E>> E readEnum(JsonParser p, DeserializationContext ctxt, E[] values, Class<E> type) throws IOException {
+		if (p.currentToken() == JsonToken.VALUE_STRING) {
+			String name = p.getText();
+			for (E value : values) {
+				if (value.name().equals(name)) return value;
+			}
+		}
+		return readValue(p, ctxt, type);
+	}
+
+	private static <T> T readValue(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+		return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, type);
+	}
+}
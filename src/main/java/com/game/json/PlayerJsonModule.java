@@ -0,0 +1,19 @@
+package com.game.json;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import com.game.entity.Player;
+
+/**
+ * Reads and writes {@link Player} with {@link PlayerSerializer} and {@link PlayerDeserializer}
+ * instead of the reflective bean codec, in every format of the mapper it is registered with.
+ */
+public class PlayerJsonModule extends SimpleModule {
+
+	public PlayerJsonModule() {
+		super("PlayerJsonModule", Version.unknownVersion());
+		addSerializer(Player.class, new PlayerSerializer());
+		addDeserializer(Player.class, new PlayerDeserializer());
+	}
+}
@@ -0,0 +1,68 @@
+package com.game.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import com.game.entity.Player;
+
+/**
+ * Writes a player with straight getter calls and pre-encoded field names. The output is the one
+ * of the field-access bean serializer: every field in declaration order, {@code null} included,
+ * enums by name and the birthday as epoch milliseconds.
+ */
+public class PlayerSerializer extends StdSerializer<Player> {
+
+	static final SerializableString ID = new SerializedString("id");
+	static final SerializableString NAME = new SerializedString("name");
+	static final SerializableString TITLE = new SerializedString("title");
+	static final SerializableString RACE = new SerializedString("race");
+	static final SerializableString PROFESSION = new SerializedString("profession");
+	static final SerializableString EXPERIENCE = new SerializedString("experience");
+	static final SerializableString LEVEL = new SerializedString("level");
+	static final SerializableString UNTIL_NEXT_LEVEL = new SerializedString("untilNextLevel");
+	static final SerializableString BIRTHDAY = new SerializedString("birthday");
+	static final SerializableString BANNED = new SerializedString("banned");
+
+	public PlayerSerializer() {
+		super(Player.class);
+	}
+
+	@Override
+	public void serialize(Player player, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		gen.writeStartObject(player);
+		gen.writeFieldName(ID);
+		if (player.getId() != null) gen.writeNumber(player.getId());
+		else gen.writeNull();
+		gen.writeFieldName(NAME);
+		gen.writeString(player.getName());
+		gen.writeFieldName(TITLE);
+		gen.writeString(player.getTitle());
+		gen.writeFieldName(RACE);
+		gen.writeString(player.getRace() != null ? player.getRace().name() : null);
+		gen.writeFieldName(PROFESSION);
+		gen.writeString(player.getProfession() != null ? player.getProfession().name() : null);
+		gen.writeFieldName(EXPERIENCE);
+		writeNumber(gen, player.getExperience());
+		gen.writeFieldName(LEVEL);
+		writeNumber(gen, player.getLevel());
+		gen.writeFieldName(UNTIL_NEXT_LEVEL);
+		writeNumber(gen, player.getUntilNextLevel());
+		gen.writeFieldName(BIRTHDAY);
+		if (player.getBirthday() != null) gen.writeNumber(player.getBirthday().getTime());
+		else gen.writeNull();
+		gen.writeFieldName(BANNED);
+		if (player.getBanned() != null) gen.writeBoolean(player.getBanned());
+		else gen.writeNull();
+		gen.writeEndObject();
+	}
+
+	private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+		if (value != null) gen.writeNumber(value);
+		else gen.writeNull();
+	}
+}
@@ -0,0 +1,32 @@
+package com.game.monitoring;
+
+public class CacheStatistics {
+
+	private final long hits;
+	private final long misses;
+	private final long puts;
+	private final double hitRatio;
+
+	public CacheStatistics(long hits, long misses, long puts) {
+		this.hits = hits;
+		this.misses = misses;
+		this.puts = puts;
+		this.hitRatio = hits + misses > 0 ? (double) hits / (hits + misses) : 0;
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getPuts() {
+		return puts;
+	}
+
+	public double getHitRatio() {
+		return hitRatio;
+	}
+}
@@ -0,0 +1,65 @@
+package com.game.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Collects HikariCP pool statistics: the pool gauges (active, idle, waiting threads) and the
+ * connection acquire times, which are what we size the pool by.
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+	private final LongAdder acquireCount = new LongAdder();
+	private final LongAdder acquireNanos = new LongAdder();
+	private final AtomicLong acquireMaxNanos = new AtomicLong();
+	private final LongAdder usageCount = new LongAdder();
+	private final LongAdder usageMillis = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+	private volatile PoolStats poolStats;
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		this.poolStats = poolStats;
+		return new IMetricsTracker() {
+			@Override
+			public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+				acquireCount.increment();
+				acquireNanos.add(elapsedAcquiredNanos);
+				acquireMaxNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+			}
+
+			@Override
+			public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+				usageCount.increment();
+				usageMillis.add(elapsedBorrowedMillis);
+			}
+
+			@Override
+			public void recordConnectionTimeout() {
+				timeouts.increment();
+			}
+		};
+	}
+
+	public ConnectionPoolStatistics getStatistics() {
+		PoolStats stats = poolStats;
+		long acquired = acquireCount.sum();
+		long used = usageCount.sum();
+		return new ConnectionPoolStatistics(
+				stats != null ? stats.getActiveConnections() : 0,
+				stats != null ? stats.getIdleConnections() : 0,
+				stats != null ? stats.getTotalConnections() : 0,
+				stats != null ? stats.getPendingThreads() : 0,
+				stats != null ? stats.getMaxConnections() : 0,
+				acquired,
+				acquired > 0 ? TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum() / acquired) : 0,
+				TimeUnit.NANOSECONDS.toMicros(acquireMaxNanos.get()),
+				used > 0 ? usageMillis.sum() / used : 0,
+				timeouts.sum());
+	}
+}
@@ -0,0 +1,69 @@
+package com.game.monitoring;
+
+public class ConnectionPoolStatistics {
+
+	private final int active;
+	private final int idle;
+	private final int total;
+	private final int waiting;
+	private final int maximumSize;
+	private final long acquireCount;
+	private final long acquireMeanMicros;
+	private final long acquireMaxMicros;
+	private final long usageMeanMillis;
+	private final long timeouts;
+
+	public ConnectionPoolStatistics(int active, int idle, int total, int waiting, int maximumSize, long acquireCount
+			, long acquireMeanMicros, long acquireMaxMicros, long usageMeanMillis, long timeouts) {
+		this.active = active;
+		this.idle = idle;
+		this.total = total;
+		this.waiting = waiting;
+		this.maximumSize = maximumSize;
+		this.acquireCount = acquireCount;
+		this.acquireMeanMicros = acquireMeanMicros;
+		this.acquireMaxMicros = acquireMaxMicros;
+		this.usageMeanMillis = usageMeanMillis;
+		this.timeouts = timeouts;
+	}
+
+	public int getActive() {
+		return active;
+	}
+
+	public int getIdle() {
+		return idle;
+	}
+
+	public int getTotal() {
+		return total;
+	}
+
+	public int getWaiting() {
+		return waiting;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	public long getAcquireCount() {
+		return acquireCount;
+	}
+
+	public long getAcquireMeanMicros() {
+		return acquireMeanMicros;
+	}
+
+	public long getAcquireMaxMicros() {
+		return acquireMaxMicros;
+	}
+
+	public long getUsageMeanMillis() {
+		return usageMeanMillis;
+	}
+
+	public long getTimeouts() {
+		return timeouts;
+	}
+}
@@ -0,0 +1,38 @@
+package com.game.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.game.entity.Player;
+
+/**
+ * Hit and miss counters of the Hibernate second-level cache regions.
+ */
+@Component
+public class HibernateCacheMetrics {
+
+	private final EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+		this.entityManagerFactory = entityManagerFactory;
+	}
+
+	public Map<String, CacheStatistics> getStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		CacheRegionStatistics players = statistics.getDomainDataRegionStatistics(Player.class.getName());
+		Map<String, CacheStatistics> regions = new LinkedHashMap<>();
+		regions.put("player", new CacheStatistics(players.getHitCount(), players.getMissCount(), players.getPutCount()));
+		regions.put("query", new CacheStatistics(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()
+				, statistics.getQueryCachePutCount()));
+		return regions;
+	}
+}
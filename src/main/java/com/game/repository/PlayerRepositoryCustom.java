@@ -0,0 +1,56 @@
+package com.game.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.game.entity.Player;
+
+/**
+ * Queries of this fragment are cacheable: their results are kept in the Hibernate query cache
+ * until the player table is written.
+ */
+public interface PlayerRepositoryCustom {
+	/**
+	 * Returns the {@code limit} players starting at {@code offset} without issuing a count query.
+	 */
+	List<Player> findPage(Specification<Player> spec, Sort sort, int offset, int limit);
+
+	long countMatching(Specification<Player> spec);
+
+	/**
+	 * Streams every matching player to {@code action} in {@code sort} order. Rows are fetched in
+	 * batches and detached once consumed, so memory use does not grow with the table; the
+	 * second-level cache is bypassed.
+	 */
+	void scan(Specification<Player> spec, Sort sort, Consumer<Player> action);
+
+	/**
+	 * Inserts the players with JDBC batches of {@code batchSize} rows in the current transaction
+	 * and sets their generated ids. The inserted rows bypass the persistence context.
+	 */
+	void insertAll(List<Player> players, int batchSize);
+
+	/**
+	 * Returns the ids of the first {@code limit} matching players in id order.
+	 */
+	List<Long> findIds(Specification<Player> spec, int limit);
+
+	/**
+	 * Changes every matching player with one UPDATE statement: sets {@code banned} if it is not
+	 * {@code null} and adds {@code experienceDelta} to the experience if it is not {@code null},
+	 * keeping the experience within the valid range and recalculating the level.
+	 *
+	 * @return the number of updated players
+	 */
+	int updateMatching(Specification<Player> spec, Boolean banned, Integer experienceDelta);
+
+	/**
+	 * Deletes every matching player with one DELETE statement.
+	 *
+	 * @return the number of deleted players
+	 */
+	int deleteMatching(Specification<Player> spec);
+}
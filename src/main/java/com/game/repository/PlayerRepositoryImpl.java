@@ -0,0 +1,175 @@
+package com.game.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaDelete;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.game.entity.Player;
+import com.game.service.PlayerRules;
+
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+
+	private static final int SCAN_FETCH_SIZE = 1000;
+	private static final String INSERT = "INSERT INTO player (name, title, race, profession, birthday, banned, experience, level, untilNextLevel)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Player> findPage(Specification<Player> spec, Sort sort, int offset, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Player> query = cb.createQuery(Player.class);
+		Root<Player> root = query.from(Player.class);
+		query.select(root)
+				.where(spec.toPredicate(root, query, cb))
+				.orderBy(QueryUtils.toOrders(sort, root, cb));
+		return entityManager.createQuery(query)
+				.setFirstResult(offset)
+				.setMaxResults(limit)
+				.setHint(QueryHints.HINT_CACHEABLE, true)
+				.getResultList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long countMatching(Specification<Player> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Player> root = query.from(Player.class);
+		query.select(cb.count(root))
+				.where(spec.toPredicate(root, query, cb));
+		return entityManager.createQuery(query)
+				.setHint(QueryHints.HINT_CACHEABLE, true)
+				.getSingleResult();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void scan(Specification<Player> spec, Sort sort, Consumer<Player> action) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Player> query = cb.createQuery(Player.class);
+		Root<Player> root = query.from(Player.class);
+		query.select(root)
+				.where(spec.toPredicate(root, query, cb))
+				.orderBy(QueryUtils.toOrders(sort, root, cb));
+		try (Stream<Player> players = entityManager.createQuery(query)
+				.setHint(QueryHints.HINT_FETCH_SIZE, SCAN_FETCH_SIZE)
+				.setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+				.setHint(QueryHints.HINT_READONLY, true)
+				.getResultStream()) {
+			players.forEach(player -> {
+				action.accept(player);
+				entityManager.detach(player);
+			});
+		}
+	}
+
+	@Override
+	@Transactional
+	public void insertAll(List<Player> players, int batchSize) {
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+				for (int from = 0; from < players.size(); from += batchSize) {
+					List<Player> batch = players.subList(from, Math.min(from + batchSize, players.size()));
+					for (Player player : batch) {
+						statement.setString(1, player.getName());
+						statement.setString(2, player.getTitle());
+						statement.setString(3, player.getRace() != null ? player.getRace().name() : null);
+						statement.setString(4, player.getProfession() != null ? player.getProfession().name() : null);
+						statement.setTimestamp(5, player.getBirthday() != null ? new Timestamp(player.getBirthday().getTime()) : null);
+						statement.setObject(6, player.getBanned(), Types.BOOLEAN);
+						statement.setObject(7, player.getExperience(), Types.INTEGER);
+						statement.setObject(8, player.getLevel(), Types.INTEGER);
+						statement.setObject(9, player.getUntilNextLevel(), Types.INTEGER);
+						statement.addBatch();
+					}
+					statement.executeBatch();
+					try (ResultSet keys = statement.getGeneratedKeys()) {
+						for (Player player : batch) {
+							if (!keys.next()) throw new SQLException("Fewer generated ids than inserted rows");
+							player.setId(keys.getLong(1));
+						}
+					}
+				}
+			}
+		});
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Long> findIds(Specification<Player> spec, int limit) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Player> root = query.from(Player.class);
+		query.select(root.get("id"))
+				.where(spec.toPredicate(root, query, cb))
+				.orderBy(cb.asc(root.get("id")));
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+	}
+
+	/**
+	 * The level is computed from the new experience expression rather than the column, and the
+	 * experience is assigned last: MySQL evaluates SET assignments left to right with the values
+	 * already assigned, while standard SQL uses the old row.
+	 */
+	@Override
+	@Transactional
+	public int updateMatching(Specification<Player> spec, Boolean banned, Integer experienceDelta) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaUpdate<Player> update = cb.createCriteriaUpdate(Player.class);
+		Root<Player> root = update.from(Player.class);
+		if (banned != null) update.set(root.<Boolean>get("banned"), banned);
+		if (experienceDelta != null) {
+			Expression<Integer> raised = cb.sum(root.get("experience"), cb.literal(experienceDelta));
+			Expression<Integer> experience = cb.<Integer>selectCase()
+					.when(cb.lt(raised, 0), cb.literal(0))
+					.when(cb.gt(raised, PlayerRules.MAX_EXPERIENCE), cb.literal(PlayerRules.MAX_EXPERIENCE))
+					.otherwise(raised);
+			// level = (int) ((sqrt(2500 + 200 * experience) - 50) / 100)
+			Expression<Double> sqrt = cb.sqrt(cb.sum(cb.prod(experience, 200), 2500));
+			Expression<Integer> level = cb.function("floor", Integer.class, cb.quot(cb.diff(sqrt, 50.0), 100.0));
+			// untilNextLevel = 50 * (level + 1) * (level + 2) - experience
+			Expression<Integer> untilNextLevel = cb.diff(cb.prod(cb.prod(cb.sum(level, 1), cb.sum(level, 2)), 50), experience);
+			update.set(root.<Integer>get("level"), level);
+			update.set(root.<Integer>get("untilNextLevel"), untilNextLevel);
+			update.set(root.<Integer>get("experience"), experience);
+		}
+		update.where(spec.toPredicate(root, null, cb));
+		return entityManager.createQuery(update).executeUpdate();
+	}
+
+	@Override
+	@Transactional
+	public int deleteMatching(Specification<Player> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaDelete<Player> delete = cb.createCriteriaDelete(Player.class);
+		Root<Player> root = delete.from(Player.class);
+		delete.where(spec.toPredicate(root, null, cb));
+		return entityManager.createQuery(delete).executeUpdate();
+	}
+}
@@ -0,0 +1,111 @@
+package com.game.repository;
+
+import java.util.Collection;
+import java.util.Date;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.service.PlayerCursor;
+import com.game.service.PlayerQuery;
+
+/**
+ * Translates a {@link PlayerQuery} into a JPA {@link Specification} and {@link Sort},
+ * so filtering, ordering and paging are executed by the database.
+ */
+public final class PlayerSpecifications {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private PlayerSpecifications() {}
+
+	public static Specification<Player> filteredBy(PlayerQuery query) {
+		return (root, criteriaQuery, cb) -> {
+			Predicate predicate = cb.conjunction();
+			if (query.getName() != null)
+				predicate = cb.and(predicate, cb.like(root.get("name"), containsPattern(query.getName()), LIKE_ESCAPE));
+			if (query.getTitle() != null)
+				predicate = cb.and(predicate, cb.like(root.get("title"), containsPattern(query.getTitle()), LIKE_ESCAPE));
+			if (query.getRace() != null)
+				predicate = cb.and(predicate, cb.equal(root.get("race"), query.getRace()));
+			if (query.getProfession() != null)
+				predicate = cb.and(predicate, cb.equal(root.get("profession"), query.getProfession()));
+			if (query.getAfter() != null)
+				predicate = cb.and(predicate, cb.greaterThan(root.get("birthday"), new Date(query.getAfter())));
+			if (query.getBefore() != null)
+				predicate = cb.and(predicate, cb.lessThan(root.get("birthday"), new Date(query.getBefore())));
+			if (query.getBanned() != null)
+				predicate = cb.and(predicate, cb.equal(root.get("banned"), query.getBanned()));
+			if (query.getMinExperience() != null)
+				predicate = cb.and(predicate, cb.ge(root.get("experience"), query.getMinExperience()));
+			if (query.getMaxExperience() != null)
+				predicate = cb.and(predicate, cb.le(root.get("experience"), query.getMaxExperience()));
+			if (query.getMinLevel() != null)
+				predicate = cb.and(predicate, cb.ge(root.get("level"), query.getMinLevel()));
+			if (query.getMaxLevel() != null)
+				predicate = cb.and(predicate, cb.le(root.get("level"), query.getMaxLevel()));
+			return predicate;
+		};
+	}
+
+	public static Specification<Player> withIds(Collection<Long> ids) {
+		return (root, criteriaQuery, cb) -> root.get(PlayerOrder.ID.getFieldName()).in(ids);
+	}
+
+	public static Specification<Player> idAbove(long id) {
+		return (root, criteriaQuery, cb) -> cb.greaterThan(root.get(PlayerOrder.ID.getFieldName()), id);
+	}
+
+	/**
+	 * Restricts the filter to the players after the query cursor, if it has one. Combined with
+	 * {@link #sortedBy} this seeks on the (field, id) key instead of skipping an offset.
+	 */
+	public static Specification<Player> pageOf(PlayerQuery query) {
+		Specification<Player> filter = filteredBy(query);
+		return query.getCursor() != null ? filter.and(after(query.getCursor())) : filter;
+	}
+
+	public static Specification<Player> after(PlayerCursor cursor) {
+		return (root, criteriaQuery, cb) -> {
+			Path<Long> id = root.get(PlayerOrder.ID.getFieldName());
+			Predicate idAfter = cb.greaterThan(id, cursor.getId());
+			if (cursor.getOrder() == PlayerOrder.ID) return idAfter;
+			Path<Comparable<Object>> field = root.get(cursor.getOrder().getFieldName());
+			Comparable<Object> key = sortKey(cursor);
+			return cb.or(cb.greaterThan(field, key), cb.and(cb.equal(field, key), idAfter));
+		};
+	}
+
+	/**
+	 * Orders by the field of the requested {@link PlayerOrder}, with {@code id} as a tie-breaker
+	 * so that pages are stable.
+	 */
+	public static Sort sortedBy(PlayerOrder order) {
+		Sort byId = Sort.by(PlayerOrder.ID.getFieldName());
+		return order == PlayerOrder.ID ? byId : Sort.by(order.getFieldName()).and(byId);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Comparable<Object> sortKey(PlayerCursor cursor) {
+		Object key = cursor.getOrder() == PlayerOrder.BIRTHDAY ? new Date((Long) cursor.getKey()) : cursor.getKey();
+		return (Comparable<Object>) key;
+	}
+
+	/**
+	 * A LIKE pattern matching the value anywhere. LIKE follows the collation of the column, which
+	 * is binary for name and title, so the match is case-sensitive like the in-memory index.
+	 */
+	private static String containsPattern(String value) {
+		StringBuilder pattern = new StringBuilder(value.length() + 2).append('%');
+		for (char c : value.toCharArray()) {
+			if (c == '%' || c == '_' || c == LIKE_ESCAPE) pattern.append(LIKE_ESCAPE);
+			pattern.append(c);
+		}
+		return pattern.append('%').toString();
+	}
+}
@@ -0,0 +1,59 @@
+package com.game.service;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.game.config.ConditionalOnSearchEngine;
+import com.game.entity.Player;
+import com.game.repository.PlayerRepository;
+import com.game.repository.PlayerSpecifications;
+
+@Component
+@ConditionalOnSearchEngine("database")
+public class DatabasePlayerSearch implements PlayerSearch {
+
+	private final PlayerRepository repository;
+
+	@Autowired
+	public DatabasePlayerSearch(PlayerRepository repository) {
+		this.repository = repository;
+	}
+
+	@Override
+	public List<Player> find(PlayerQuery query) {
+		// no table has that many rows
+		if (query.getOffset() > Integer.MAX_VALUE) return Collections.emptyList();
+		return repository.findPage(PlayerSpecifications.pageOf(query), PlayerSpecifications.sortedBy(query.getOrder())
+				, (int) query.getOffset(), query.getPageSize());
+	}
+
+	@Override
+	public long count(PlayerQuery query) {
+		return repository.countMatching(PlayerSpecifications.filteredBy(query));
+	}
+
+	/**
+	 * Reads the page and the total with the same specification. The count query is skipped when
+	 * the page itself shows the total: an offset page that is not full but has players, or an
+	 * empty first page. An empty page past the first, and any cursor page, still need the count.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public PlayerPage page(PlayerQuery query) {
+		Specification<Player> spec = PlayerSpecifications.filteredBy(query);
+		List<Player> items = find(query);
+		long total;
+		if (query.getCursor() == null && items.size() < query.getPageSize() && (!items.isEmpty() || query.getOffset() == 0)) {
+			total = query.getOffset() + items.size();
+		}
+		else {
+			total = repository.countMatching(spec);
+		}
+		return PlayerPage.of(items, total, query);
+	}
+}
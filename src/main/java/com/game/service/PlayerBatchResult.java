@@ -0,0 +1,72 @@
+package com.game.service;
+
+import java.util.List;
+
+import com.game.entity.Player;
+
+/**
+ * Outcome of a batch create: one item per submitted element, in submission order.
+ */
+public class PlayerBatchResult {
+
+	private final int created;
+	private final int rejected;
+	private final List<Item> items;
+
+	public PlayerBatchResult(List<Item> items) {
+		this.items = items;
+		this.created = (int) items.stream().filter(item -> item.getPlayer() != null).count();
+		this.rejected = items.size() - created;
+	}
+
+	public int getCreated() {
+		return created;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public static class Item {
+
+		private final int index;
+		private final Player player;
+		private final String error;
+
+		private Item(int index, Player player, String error) {
+			this.index = index;
+			this.player = player;
+			this.error = error;
+		}
+
+		public static Item created(int index, Player player) {
+			return new Item(index, player, null);
+		}
+
+		public static Item rejected(int index, String error) {
+			return new Item(index, null, error);
+		}
+
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * The created player with its id, {@code null} if the element was rejected.
+		 */
+		public Player getPlayer() {
+			return player;
+		}
+
+		/**
+		 * Why the element was rejected, {@code null} if it was created.
+		 */
+		public String getError() {
+			return error;
+		}
+	}
+}
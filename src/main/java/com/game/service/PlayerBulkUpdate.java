@@ -0,0 +1,32 @@
+package com.game.service;
+
+/**
+ * Change applied to every player matching a filter. Fields left {@code null} are not changed.
+ */
+public class PlayerBulkUpdate {
+
+	private Boolean banned;
+	private Integer experienceDelta;
+
+	public PlayerBulkUpdate() {}
+
+	public Boolean getBanned() {
+		return banned;
+	}
+
+	public void setBanned(Boolean banned) {
+		this.banned = banned;
+	}
+
+	/**
+	 * Added to the experience of every player; the result is kept within the valid experience
+	 * range and the level is recalculated.
+	 */
+	public Integer getExperienceDelta() {
+		return experienceDelta;
+	}
+
+	public void setExperienceDelta(Integer experienceDelta) {
+		this.experienceDelta = experienceDelta;
+	}
+}
@@ -0,0 +1,24 @@
+package com.game.service;
+
+import java.util.List;
+
+import com.game.entity.Player;
+
+/**
+ * Notified by {@link PlayerService} after a change of the player table has been committed, so that
+ * in-memory state derived from the table can follow it.
+ */
+public interface PlayerChangeListener {
+	void playerSaved(Player player);
+	void playerDeleted(long id);
+	/**
+	 * The players were inserted or changed by a bulk statement; their new state has to be read
+	 * from the table.
+	 */
+	void playersUpdated(List<Long> ids);
+	void playersDeleted(List<Long> ids);
+	/**
+	 * The table may have changed arbitrarily; everything derived from it has to be rebuilt.
+	 */
+	void playersReloaded();
+}
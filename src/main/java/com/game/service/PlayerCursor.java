@@ -0,0 +1,108 @@
+package com.game.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * Position in a players listing for keyset pagination: the sort key of the last player returned
+ * and its id as a tie-breaker. Clients receive it as an opaque URL-safe string.
+ */
+public final class PlayerCursor {
+
+	private static final String SEPARATOR = ":";
+
+	private final PlayerOrder order;
+	private final long id;
+	private final Object key;
+
+	private PlayerCursor(PlayerOrder order, long id, Object key) {
+		this.order = order;
+		this.id = id;
+		this.key = key;
+	}
+
+	public static PlayerCursor after(Player player, PlayerOrder order) {
+		Object key;
+		switch (order) {
+			case NAME:
+				key = player.getName();
+				break;
+			case EXPERIENCE:
+				key = player.getExperience();
+				break;
+			case BIRTHDAY:
+				key = player.getBirthday().getTime();
+				break;
+			case LEVEL:
+				key = player.getLevel();
+				break;
+			default:
+				key = player.getId();
+		}
+		return new PlayerCursor(order, player.getId(), key);
+	}
+
+	/**
+	 * Cursor of the page following {@code items}, or {@code null} when the page is not full
+	 * and therefore the last one.
+	 */
+	public static PlayerCursor next(List<Player> items, PlayerQuery query) {
+		if (items.isEmpty() || items.size() < query.getPageSize()) return null;
+		return after(items.get(items.size() - 1), query.getOrder());
+	}
+
+	public static PlayerCursor decode(String cursor, PlayerOrder order) throws PlayerValidationException {
+		String[] parts;
+		try {
+			parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+		}
+		catch (IllegalArgumentException e) {
+			throw new PlayerValidationException("Malformed cursor");
+		}
+		if (parts.length != 3 || !parts[0].equals(order.name()))
+			throw new PlayerValidationException("Cursor does not belong to order " + order);
+		try {
+			long id = Long.parseLong(parts[1]);
+			switch (order) {
+				case NAME:
+					return new PlayerCursor(order, id, parts[2]);
+				case EXPERIENCE:
+				case LEVEL:
+					return new PlayerCursor(order, id, Integer.parseInt(parts[2]));
+				case BIRTHDAY:
+					return new PlayerCursor(order, id, Long.parseLong(parts[2]));
+				default:
+					return new PlayerCursor(order, id, id);
+			}
+		}
+		catch (NumberFormatException e) {
+			throw new PlayerValidationException("Malformed cursor");
+		}
+	}
+
+	public String encode() {
+		String value = order.name() + SEPARATOR + id + SEPARATOR + key;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public PlayerOrder getOrder() {
+		return order;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * The sort key of the last returned player: a {@code String} for NAME, an {@code Integer} for
+	 * EXPERIENCE and LEVEL, epoch millis as a {@code Long} for BIRTHDAY and the id for ID.
+	 */
+	public Object getKey() {
+		return key;
+	}
+}
@@ -0,0 +1,57 @@
+package com.game.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an import: how many players were created and which lines were rejected. Only the
+ * first {@value #MAX_REPORTED} rejected lines are listed, so the summary stays small however
+ * bad the input is.
+ */
+public class PlayerImportResult {
+
+	static final int MAX_REPORTED = 1000;
+
+	private int imported;
+	private int rejected;
+	private final List<Rejection> rejections = new ArrayList<>();
+
+	void imported(int count) {
+		imported += count;
+	}
+
+	void rejected(int line, String error) {
+		if (rejected++ < MAX_REPORTED) rejections.add(new Rejection(line, error));
+	}
+
+	public int getImported() {
+		return imported;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	public List<Rejection> getRejections() {
+		return rejections;
+	}
+
+	public static class Rejection {
+
+		private final int line;
+		private final String error;
+
+		private Rejection(int line, String error) {
+			this.line = line;
+			this.error = error;
+		}
+
+		public int getLine() {
+			return line;
+		}
+
+		public String getError() {
+			return error;
+		}
+	}
+}
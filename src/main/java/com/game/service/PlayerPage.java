@@ -0,0 +1,59 @@
+package com.game.service;
+
+import java.util.List;
+
+import com.game.entity.Player;
+
+/**
+ * One page of a players search together with the total number of matching players.
+ */
+public class PlayerPage {
+
+	private final List<Player> items;
+	private final long total;
+	private final int pageNumber;
+	private final int pageSize;
+	private final int totalPages;
+	private final String nextCursor;
+
+	public PlayerPage(List<Player> items, long total, int pageNumber, int pageSize, String nextCursor) {
+		this.items = items;
+		this.total = total;
+		this.pageNumber = pageNumber;
+		this.pageSize = pageSize;
+		this.totalPages = pageSize > 0 ? (int) ((total + pageSize - 1) / pageSize) : 0;
+		this.nextCursor = nextCursor;
+	}
+
+	public static PlayerPage of(List<Player> items, long total, PlayerQuery query) {
+		PlayerCursor nextCursor = PlayerCursor.next(items, query);
+		return new PlayerPage(items, total, query.getPageNumber(), query.getPageSize(), nextCursor != null ? nextCursor.encode() : null);
+	}
+
+	public List<Player> getItems() {
+		return items;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public int getPageNumber() {
+		return pageNumber;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	public int getTotalPages() {
+		return totalPages;
+	}
+
+	/**
+	 * Opaque cursor of the next page for keyset pagination, {@code null} on the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
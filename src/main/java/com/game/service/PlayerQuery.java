@@ -0,0 +1,223 @@
+package com.game.service;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * Immutable description of a single players search: the filter, the order and the requested page.
+ * Every request builds its own instance, so queries never share state and can be evaluated concurrently.
+ */
+public final class PlayerQuery {
+
+	public static final int DEFAULT_PAGE_SIZE = 3;
+	/** Pages are held in memory in full, larger ones are rejected. */
+	public static final int MAX_PAGE_SIZE = 1000;
+
+	private final String name, title;
+	private final Race race;
+	private final Profession profession;
+	private final Long after, before;
+	private final Boolean banned;
+	private final Integer minExperience, maxExperience, minLevel, maxLevel;
+	private final PlayerOrder order;
+	private final int pageNumber, pageSize;
+	private final PlayerCursor cursor;
+
+	private PlayerQuery(Builder builder) {
+		this.name = builder.name;
+		this.title = builder.title;
+		this.race = builder.race;
+		this.profession = builder.profession;
+		this.after = builder.after;
+		this.before = builder.before;
+		this.banned = builder.banned;
+		this.minExperience = builder.minExperience;
+		this.maxExperience = builder.maxExperience;
+		this.minLevel = builder.minLevel;
+		this.maxLevel = builder.maxLevel;
+		this.order = builder.order != null ? builder.order : PlayerOrder.ID;
+		this.pageNumber = builder.pageNumber != null ? builder.pageNumber : 0;
+		this.pageSize = builder.pageSize != null ? builder.pageSize : DEFAULT_PAGE_SIZE;
+		this.cursor = builder.cursor;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public Race getRace() {
+		return race;
+	}
+
+	public Profession getProfession() {
+		return profession;
+	}
+
+	public Long getAfter() {
+		return after;
+	}
+
+	public Long getBefore() {
+		return before;
+	}
+
+	public Boolean getBanned() {
+		return banned;
+	}
+
+	public Integer getMinExperience() {
+		return minExperience;
+	}
+
+	public Integer getMaxExperience() {
+		return maxExperience;
+	}
+
+	public Integer getMinLevel() {
+		return minLevel;
+	}
+
+	public Integer getMaxLevel() {
+		return maxLevel;
+	}
+
+	public PlayerOrder getOrder() {
+		return order;
+	}
+
+	public int getPageNumber() {
+		return pageNumber;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * Keyset position to continue after, or {@code null} for offset paging.
+	 */
+	public PlayerCursor getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Whether any filter is set, as opposed to selecting every player.
+	 */
+	public boolean hasFilter() {
+		return name != null || title != null || race != null || profession != null || after != null || before != null
+				|| banned != null || minExperience != null || maxExperience != null || minLevel != null || maxLevel != null;
+	}
+
+	/**
+	 * The players skipped before the page; a long, as page number times page size can exceed an int.
+	 */
+	public long getOffset() {
+		return cursor != null ? 0 : (long) pageNumber * pageSize;
+	}
+
+	public static final class Builder {
+		private String name, title;
+		private Race race;
+		private Profession profession;
+		private Long after, before;
+		private Boolean banned;
+		private Integer minExperience, maxExperience, minLevel, maxLevel;
+		private PlayerOrder order;
+		private Integer pageNumber, pageSize;
+		private PlayerCursor cursor;
+
+		private Builder() {}
+
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public Builder title(String title) {
+			this.title = title;
+			return this;
+		}
+
+		public Builder race(Race race) {
+			this.race = race;
+			return this;
+		}
+
+		public Builder profession(Profession profession) {
+			this.profession = profession;
+			return this;
+		}
+
+		public Builder after(Long after) {
+			this.after = after;
+			return this;
+		}
+
+		public Builder before(Long before) {
+			this.before = before;
+			return this;
+		}
+
+		public Builder banned(Boolean banned) {
+			this.banned = banned;
+			return this;
+		}
+
+		public Builder minExperience(Integer minExperience) {
+			this.minExperience = minExperience;
+			return this;
+		}
+
+		public Builder maxExperience(Integer maxExperience) {
+			this.maxExperience = maxExperience;
+			return this;
+		}
+
+		public Builder minLevel(Integer minLevel) {
+			this.minLevel = minLevel;
+			return this;
+		}
+
+		public Builder maxLevel(Integer maxLevel) {
+			this.maxLevel = maxLevel;
+			return this;
+		}
+
+		public Builder order(PlayerOrder order) {
+			this.order = order;
+			return this;
+		}
+
+		public Builder pageNumber(Integer pageNumber) throws PlayerValidationException {
+			if (pageNumber != null && pageNumber < 0) throw new PlayerValidationException("Negative page number");
+			this.pageNumber = pageNumber;
+			return this;
+		}
+
+		public Builder pageSize(Integer pageSize) throws PlayerValidationException {
+			if (pageSize != null && (pageSize < 0 || pageSize > MAX_PAGE_SIZE))
+				throw new PlayerValidationException("Page size out of 0.." + MAX_PAGE_SIZE);
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		public Builder cursor(PlayerCursor cursor) {
+			this.cursor = cursor;
+			return this;
+		}
+
+		public PlayerQuery build() {
+			return new PlayerQuery(this);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package com.game.service;
+
+import java.text.SimpleDateFormat;
+
+import com.game.entity.Player;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * The rules every stored player follows, shared by all ways of writing players.
+ */
+public final class PlayerRules {
+
+	public static final int MAX_EXPERIENCE = 10000000;
+
+	private PlayerRules() {}
+
+	/**
+	 * Derives the level and the experience left until the next level from the experience.
+	 */
+	public static void calculateLevel(Player player) {
+		player.setLevel((int) ((Math.sqrt(2500 + 200 * player.getExperience()) - 50) / 100));
+		player.setUntilNextLevel(50 * (player.getLevel() + 1) * (player.getLevel() + 2) - player.getExperience());
+	}
+
+	public static void validate(Player player) throws PlayerValidationException {
+		SimpleDateFormat sdf = new SimpleDateFormat("yyyy");
+		if (player.getName() == null || player.getName().isEmpty() || player.getName().length() > 12 || player.getTitle() == null 
+				|| player.getTitle().isEmpty() || player.getTitle().length() > 30 || player.getBirthday() == null 
+				|| Integer.parseInt(sdf.format(player.getBirthday())) < 2000 || Integer.parseInt(sdf.format(player.getBirthday())) > 3000 
+				|| player.getExperience() == null || player.getExperience() < 0 || player.getExperience() > MAX_EXPERIENCE) 
+			throw new PlayerValidationException();
+	}
+}
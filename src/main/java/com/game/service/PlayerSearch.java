@@ -0,0 +1,15 @@
+package com.game.service;
+
+import java.util.List;
+
+import com.game.entity.Player;
+
+/**
+ * Evaluates player queries. The implementation is chosen by the {@code search.engine} property:
+ * {@code database} runs every query in SQL, {@code index} answers from an in-memory index.
+ */
+public interface PlayerSearch {
+	List<Player> find(PlayerQuery query);
+	long count(PlayerQuery query);
+	PlayerPage page(PlayerQuery query);
+}
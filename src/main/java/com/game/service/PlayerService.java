@@ -1,24 +1,57 @@
 package com.game.service;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
-import com.game.controller.PlayerOrder;
 import com.game.entity.Player;
-import com.game.entity.Profession;
-import com.game.entity.Race;
 import com.game.service.exceptions.PlayerNotFoundException;
 import com.game.service.exceptions.PlayerValidationException;
 
 public interface PlayerService {
-	List<Player> getPlayers(String name, String title, Race race, Profession profession
-			, Long after, Long before, Boolean banned, Integer minExperience
-			, Integer maxExperience, Integer minLevel, Integer maxLevel, PlayerOrder order
-			, Integer pageNumber, Integer pageSize);
-	int getCount(String name, String title, Race race, Profession profession
-			, Long after, Long before, Boolean banned, Integer minExperience
-			, Integer maxExperience, Integer minLevel, Integer maxLevel);
+	List<Player> getPlayers(PlayerQuery query);
+	int getCount(PlayerQuery query);
+	PlayerPage getPage(PlayerQuery query);
+	/**
+	 * Passes every player matching the filter to {@code action} in the query order, ignoring paging.
+	 * Players are read from the database while they are consumed and are not kept in memory.
+	 */
+	void forEach(PlayerQuery query, Consumer<Player> action);
 	Player getPlayerById(Long id) throws PlayerNotFoundException, PlayerValidationException;
 	Player create(Player player) throws PlayerValidationException;
+	PlayerBatchResult createAll(List<Player> players);
+	/**
+	 * Creates every valid player of the source, validating them and computing their level like
+	 * {@link #create}. Invalid records are reported by line and skipped.
+	 */
+	PlayerImportResult importAll(PlayerSource source) throws IOException;
 	Player update(Player player, Long id) throws PlayerValidationException, PlayerNotFoundException;
+	/**
+	 * Applies the change to every player matching the filter, which must not be empty.
+	 *
+	 * @return the number of updated players
+	 */
+	int updateAll(PlayerQuery filter, PlayerBulkUpdate change) throws PlayerValidationException;
 	void delete(long id) throws PlayerNotFoundException, PlayerValidationException;
+	/**
+	 * Deletes every player matching the filter, which must not be empty.
+	 *
+	 * @return the number of deleted players
+	 */
+	int deleteAll(PlayerQuery filter) throws PlayerValidationException;
+	/**
+	 * The data version of the whole player table, which changes with every committed change of it.
+	 * It never runs ahead of the data: a read started after getting a version sees at least that
+	 * version. Versions are increasing and close to the time of the change in milliseconds.
+	 */
+	long getVersion();
+	/**
+	 * The data version of one player, which changes whenever the player is created, updated or deleted.
+	 */
+	long getVersion(long id);
+	/**
+	 * Drops every in-memory copy of player data after the table was changed bypassing this service,
+	 * for example by SQL scripts.
+	 */
+	void refresh();
 }
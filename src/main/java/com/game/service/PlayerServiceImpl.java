@@ -1,86 +1,163 @@
 package com.game.service;
 
-import java.text.SimpleDateFormat;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityManagerFactory;
 
 import com.game.service.exceptions.PlayerNotFoundException;
 import com.game.service.exceptions.PlayerValidationException;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.game.controller.PlayerOrder;
 import com.game.entity.Player;
-import com.game.entity.Profession;
-import com.game.entity.Race;
 import com.game.repository.PlayerRepository;
+import com.game.repository.PlayerSpecifications;
 
 @Service
 public class PlayerServiceImpl implements PlayerService {
 
+	private static final Logger LOG = LoggerFactory.getLogger(PlayerServiceImpl.class);
+
 	private final PlayerRepository repository;
-	private List<Player> filteredPlayers;
-	String name, title;
-	Race race; Profession profession; PlayerOrder order;
-	Integer minExperience, maxExperience, minLevel, maxLevel, pageSize;
-	Long after, before;
-	Boolean banned;
+	private final PlayerSearch search;
+	private final ObjectProvider<PlayerChangeListener> listeners;
+	private final EntityManagerFactory entityManagerFactory;
+	private final int batchSize;
+	private final TransactionTemplate batches;
+	private final PlayerVersions versions = new PlayerVersions();
 
 	@Autowired
-	public PlayerServiceImpl(PlayerRepository repository) {
+	public PlayerServiceImpl(PlayerRepository repository, PlayerSearch search, ObjectProvider<PlayerChangeListener> listeners
+			, EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager, @Value("${db.batch-size}") int batchSize) {
 		this.repository = repository;
-		filteredPlayers = (List<Player>) repository.findAll();
-		order = PlayerOrder.ID;
-		pageSize = 3;
-		banned = false;
+		this.search = search;
+		this.listeners = listeners;
+		this.entityManagerFactory = entityManagerFactory;
+		this.batchSize = batchSize;
+		this.batches = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public List<Player> getPlayers(PlayerQuery query) {
+		return search.find(query);
 	}
 
 	@Override
-	public List<Player> getPlayers(String name, String title, Race race, Profession profession, Long after, Long before, Boolean banned
-			, Integer minExperience, Integer maxExperience, Integer minLevel, Integer maxLevel, PlayerOrder order, Integer pageNumber
-			, Integer pageSize) {
-		int playersCount = getCount(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel);
-		order = order != null ? order : this.order;
-		if (this.order != order) sortedPlayers(order);
-		this.order = order;
-		pageSize = pageSize != null ? pageSize : this.pageSize;
-		int fromIndex = pageNumber != null ? pageNumber * pageSize : 0;
-		fromIndex = Math.min(fromIndex, playersCount);
-		int toIndex = fromIndex + pageSize;
-		toIndex = Math.min(toIndex, playersCount);
-		return filteredPlayers.subList(fromIndex, toIndex);
+	public int getCount(PlayerQuery query) {
+		return (int) search.count(query);
 	}
 
 	@Override
-	public int getCount(String name, String title, Race race, Profession profession
-			, Long after, Long before, Boolean banned, Integer minExperience
-			, Integer maxExperience, Integer minLevel, Integer maxLevel) {
-		filteredPlayers(name, title, race, profession, after, before, banned, minExperience, maxExperience, minLevel, maxLevel, order);
-		return filteredPlayers.size();
+	public PlayerPage getPage(PlayerQuery query) {
+		return search.page(query);
+	}
+	
+	@Override
+	public void forEach(PlayerQuery query, Consumer<Player> action) {
+		repository.scan(PlayerSpecifications.filteredBy(query), PlayerSpecifications.sortedBy(query.getOrder()), action);
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Player getPlayerById(Long id) throws PlayerNotFoundException, PlayerValidationException {
 		if (id == null || id == 0) throw new PlayerValidationException();
-		for (Player player : repository.findAll()) {
-			if (player.getId().longValue() == id) return player;
-		}
-		throw new PlayerNotFoundException();
+		return repository.findById(id).orElseThrow(PlayerNotFoundException::new);
 	}
 	
 	@Override
+	@Transactional(rollbackFor = PlayerValidationException.class)
 	public Player create(Player player) throws PlayerValidationException {
-		validatePlayer(player);
-		player.setLevel((int) ((Math.sqrt(2500 + 200 * player.getExperience()) - 50) / 100));
-		player.setUntilNextLevel(50 * (player.getLevel() + 1) * (player.getLevel() + 2) - player.getExperience());
-		Player createdPlayer = repository.save(player);
-		filteredPlayers.add(createdPlayer);
-		sortedPlayers(order);
-		return createdPlayer;
+		PlayerRules.validate(player);
+		PlayerRules.calculateLevel(player);
+		Player created = repository.save(player);
+		afterCommit(listener -> listener.playerSaved(created));
+		return created;
+	}
+
+	/**
+	 * Validates every element, then inserts the valid ones with JDBC batches in one transaction.
+	 * Invalid elements are reported and skipped without affecting the others.
+	 */
+	@Override
+	@Transactional
+	public PlayerBatchResult createAll(List<Player> players) {
+		List<PlayerBatchResult.Item> items = new ArrayList<>(players.size());
+		List<Player> valid = new ArrayList<>(players.size());
+		for (int i = 0; i < players.size(); i++) {
+			Player player = players.get(i);
+			try {
+				if (player == null) throw new PlayerValidationException("Missing player");
+				PlayerRules.validate(player);
+			}
+			catch (PlayerValidationException e) {
+				items.add(PlayerBatchResult.Item.rejected(i, e.getMessage() != null ? e.getMessage() : "Invalid player"));
+				continue;
+			}
+			player.setId(null);
+			PlayerRules.calculateLevel(player);
+			valid.add(player);
+			items.add(PlayerBatchResult.Item.created(i, player));
+		}
+		if (!valid.isEmpty()) insertAll(valid);
+		return new PlayerBatchResult(items);
+	}
+
+	/**
+	 * Reads the source one record at a time and inserts the valid players in transactions of
+	 * {@code db.batch-size} rows, so only one batch is held in memory. The next batch is not read
+	 * before the previous one has committed, which keeps a fast upload from outrunning the database.
+	 * Batches committed before a database failure stay committed.
+	 */
+	@Override
+	public PlayerImportResult importAll(PlayerSource source) throws IOException {
+		PlayerImportResult result = new PlayerImportResult();
+		List<Player> batch = new ArrayList<>(batchSize);
+		while (source.hasNext()) {
+			Player player;
+			try {
+				player = source.next();
+				PlayerRules.validate(player);
+			}
+			catch (PlayerValidationException e) {
+				result.rejected(source.getLine(), e.getMessage() != null ? e.getMessage() : "Invalid player");
+				continue;
+			}
+			player.setId(null);
+			PlayerRules.calculateLevel(player);
+			batch.add(player);
+			if (batch.size() == batchSize) {
+				batches.executeWithoutResult(status -> insertAll(batch));
+				result.imported(batch.size());
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			batches.executeWithoutResult(status -> insertAll(batch));
+			result.imported(batch.size());
+		}
+		return result;
 	}
 	
+	/**
+	 * Loads the player by primary key and changes it inside one transaction: the persistence context
+	 * keeps a single managed instance, and its changes are flushed on commit without reloading it.
+	 */
 	@Override
+	@Transactional(rollbackFor = PlayerValidationException.class)
 	public Player update(Player player, Long id) throws PlayerValidationException, PlayerNotFoundException {
 		Player updatedPlayer = getPlayerById(id);
 		if (player.getName() != null) updatedPlayer.setName(player.getName());
@@ -91,68 +168,138 @@ public class PlayerServiceImpl implements PlayerService {
 		if (player.getBanned() != null) updatedPlayer.setBanned(player.getBanned());
 		if (player.getExperience() != null && !player.getExperience().equals(updatedPlayer.getExperience())) {
 			updatedPlayer.setExperience(player.getExperience());
-			updatedPlayer.setLevel((int) ((Math.sqrt(2500 + 200 * player.getExperience()) - 50) / 100));
-			updatedPlayer.setUntilNextLevel(50 * (updatedPlayer.getLevel() + 1) * (updatedPlayer.getLevel() + 2) - player.getExperience());
-			validatePlayer(updatedPlayer);
-			repository.save(updatedPlayer);
+			PlayerRules.calculateLevel(updatedPlayer);
 		}
+		PlayerRules.validate(updatedPlayer);
+		afterCommit(listener -> listener.playerSaved(updatedPlayer));
 		return updatedPlayer;
 	}
 	
+	/**
+	 * Updates the matching players in chunks of {@code db.batch-size}, walking them in id order:
+	 * the ids of a chunk are read and updated by id with one UPDATE in a transaction of its own,
+	 * and the listeners are told once it has committed. Updating by id keeps rows that start to
+	 * match between the two statements out of the UPDATE, so the listeners reload every changed
+	 * player. Chunks committed before a database failure stay updated.
+	 */
 	@Override
-	public void delete(long id) throws PlayerNotFoundException, PlayerValidationException {
-		getPlayerById(id);
-		repository.deleteById(id);
+	public int updateAll(PlayerQuery filter, PlayerBulkUpdate change) throws PlayerValidationException {
+		if (!filter.hasFilter()) throw new PlayerValidationException("A filter is required");
+		if (change == null || change.getBanned() == null && change.getExperienceDelta() == null)
+			throw new PlayerValidationException("Nothing to update");
+		Specification<Player> spec = PlayerSpecifications.filteredBy(filter);
+		// the last id of the previous chunk, where the next one starts
+		long[] lastId = {0};
+		int updated = 0;
+		while (true) {
+			Integer chunk = batches.execute(status -> {
+				List<Long> ids = repository.findIds(spec.and(PlayerSpecifications.idAbove(lastId[0])), batchSize);
+				if (ids.isEmpty()) return null;
+				lastId[0] = ids.get(ids.size() - 1);
+				int count = repository.updateMatching(PlayerSpecifications.withIds(ids), change.getBanned(), change.getExperienceDelta());
+				afterCommit(listener -> listener.playersUpdated(ids));
+				return count;
+			});
+			if (chunk == null) return updated;
+			updated += chunk;
+		}
 	}
 	
-	private void validatePlayer(Player player) throws PlayerValidationException {
-		SimpleDateFormat sdf = new SimpleDateFormat("yyyy");
-		if (player.getName() == null || player.getName().isEmpty() || player.getName().length() > 12 || player.getTitle() == null 
-				|| player.getTitle().isEmpty() || player.getTitle().length() > 30 || player.getBirthday() == null 
-				|| Integer.parseInt(sdf.format(player.getBirthday())) < 2000 || Integer.parseInt(sdf.format(player.getBirthday())) > 3000 
-				|| player.getExperience() == null || player.getExperience() < 0 || player.getExperience() > 10000000) 
-			throw new PlayerValidationException();
+	@Override
+	@Transactional(rollbackFor = PlayerValidationException.class)
+	public void delete(long id) throws PlayerNotFoundException, PlayerValidationException {
+		repository.delete(getPlayerById(id));
+		afterCommit(listener -> listener.playerDeleted(id));
 	}
 	
-	private void filteredPlayers(String name, String title, Race race, Profession profession
-			, Long after, Long before, Boolean banned, Integer minExperience
-			, Integer maxExperience, Integer minLevel, Integer maxLevel, PlayerOrder order) {
-		if (!Objects.equals(this.name, name) || !Objects.equals(this.title, title) || this.race != race || this.profession != profession || !Objects.equals(this.after, after)
-				|| !Objects.equals(this.before, before) || this.banned != banned || !Objects.equals(this.minExperience, minExperience)
-				|| !Objects.equals(this.maxExperience, maxExperience) || !Objects.equals(this.minLevel, minLevel) || !Objects.equals(this.maxLevel, maxLevel)) {
-			filteredPlayers = new ArrayList<>();
-			for (Player player : repository.findAll()) {
-				if (name != null && !player.getName().contains(name)) continue;
-				if (title != null && !player.getTitle().contains(title)) continue;
-				if (race != null && player.getRace() != race) continue;
-				if (profession != null && player.getProfession() != profession) continue;
-				if (after != null && player.getBirthday().getTime() <= after) continue;
-				if (before != null && player.getBirthday().getTime() >= before) continue;
-				if (banned != null && !player.getBanned().equals(banned)) continue;
-				if (minExperience != null && player.getExperience() < minExperience) continue;
-				if (maxExperience != null && player.getExperience() > maxExperience) continue;
-				if (minLevel != null && player.getLevel() < minLevel) continue;
-				if (maxLevel != null && player.getLevel() > maxLevel) continue;
-				filteredPlayers.add(player);
-			}
-			this.name = name; this.title = title; this.race = race; this.profession = profession; this.after = after; this.before = before;
-			this.banned = banned; this.minExperience = minExperience; this.maxExperience = maxExperience; this.minLevel = minLevel; this.maxLevel = maxLevel;
+	/**
+	 * Deletes the matching players in chunks of {@code db.batch-size}: the ids of a chunk are read
+	 * and deleted with one DELETE in a transaction of its own, and the listeners are told once it
+	 * has committed. Neither the ids held nor a transaction grow with the number of players.
+	 * Chunks committed before a database failure stay deleted.
+	 */
+	@Override
+	public int deleteAll(PlayerQuery filter) throws PlayerValidationException {
+		if (!filter.hasFilter()) throw new PlayerValidationException("A filter is required");
+		Specification<Player> spec = PlayerSpecifications.filteredBy(filter);
+		int deleted = 0;
+		while (true) {
+			Integer chunk = batches.execute(status -> {
+				List<Long> ids = repository.findIds(spec, batchSize);
+				if (ids.isEmpty()) return null;
+				int count = repository.deleteMatching(PlayerSpecifications.withIds(ids));
+				afterCommit(listener -> listener.playersDeleted(ids));
+				return count;
+			});
+			if (chunk == null) return deleted;
+			deleted += chunk;
 		}
-		if (order != PlayerOrder.ID) sortedPlayers(order);
 	}
 	
-	private void sortedPlayers(PlayerOrder order) {
-		filteredPlayers.sort((Player player1, Player player2) -> {
-			switch (order) {
-				case NAME:
-					return player1.getName().compareTo(player2.getName());
-				case EXPERIENCE:
-					return player1.getExperience().compareTo(player2.getExperience());
-				case BIRTHDAY:
-					return player1.getBirthday().compareTo(player2.getBirthday());
-				default:
-					return player1.getId().compareTo(player2.getId());
+	@Override
+	public long getVersion() {
+		return versions.get();
+	}
+
+	@Override
+	public long getVersion(long id) {
+		return versions.get(id);
+	}
+	
+	@Override
+	public void refresh() {
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		listeners.forEach(PlayerChangeListener::playersReloaded);
+		versions.playersReloaded();
+	}
+
+	/**
+	 * Inserts the players with JDBC batches in the current transaction.
+	 */
+	private void insertAll(List<Player> players) {
+		repository.insertAll(players, batchSize);
+		// the rows were inserted with plain JDBC, which Hibernate cannot track for the query cache
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+			}
+		});
+		List<Long> ids = new ArrayList<>(players.size());
+		for (Player player : players) ids.add(player.getId());
+		afterCommit(listener -> listener.playersUpdated(ids));
+	}
+
+	/**
+	 * Notifies the listeners once the current transaction has committed, so that they never see
+	 * a change that is rolled back later. The versions are advanced last: a client must not get
+	 * the new version with data that the listeners have not caught up with yet.
+	 * <p>
+	 * The change is committed whatever a listener does with it. A listener that fails is told to
+	 * rebuild its state from the table instead, and the versions are advanced all the same.
+	 */
+	private void afterCommit(Consumer<PlayerChangeListener> notification) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				try {
+					listeners.forEach(listener -> deliver(listener, notification));
+				}
+				finally {
+					notification.accept(versions);
+				}
 			}
 		});
 	}
+
+	private static void deliver(PlayerChangeListener listener, Consumer<PlayerChangeListener> notification) {
+		try {
+			notification.accept(listener);
+		}
+		catch (RuntimeException e) {
+			LOG.warn("{} missed a committed change and is reloaded", listener.getClass().getSimpleName(), e);
+			listener.playersReloaded();
+		}
+	}
+	
 }
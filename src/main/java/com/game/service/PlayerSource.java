@@ -0,0 +1,32 @@
+package com.game.service;
+
+import java.io.IOException;
+
+import com.game.entity.Player;
+import com.game.service.exceptions.PlayerValidationException;
+
+/**
+ * A sequence of players read one at a time, for example from an uploaded file.
+ */
+public interface PlayerSource {
+
+	/**
+	 * Moves to the next record, passing over what is no record at all, such as blank lines.
+	 *
+	 * @return {@code false} once the source is exhausted
+	 */
+	boolean hasNext() throws IOException;
+
+	/**
+	 * Reads the record {@link #hasNext()} moved to as a player.
+	 *
+	 * @throws PlayerValidationException if the record cannot be read as a player; the source
+	 * stays usable and the following {@link #hasNext()} moves on to the record after it
+	 */
+	Player next() throws IOException, PlayerValidationException;
+
+	/**
+	 * The line on which the record returned or rejected by the last {@link #next()} call starts.
+	 */
+	int getLine();
+}
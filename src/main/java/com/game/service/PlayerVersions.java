@@ -0,0 +1,85 @@
+package com.game.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.game.entity.Player;
+
+/**
+ * Data versions of the player table and of single players, advanced after every committed change.
+ * A version is the time of the change in milliseconds, made unique by counting on from the last
+ * one, so it also serves as the Last-Modified time. Only players changed since the last reload
+ * have a version of their own; the others share the version of the reload. Once too many players
+ * have their own version they are all moved to a new shared one, which keeps memory bounded and
+ * only costs clients one extra full response.
+ */
+class PlayerVersions implements PlayerChangeListener {
+
+	private static final int MAX_TRACKED = 100_000;
+
+	private final Map<Long, Long> changed = new ConcurrentHashMap<>();
+	private volatile long version = System.currentTimeMillis();
+	private volatile long base = version;
+
+	long get() {
+		return version;
+	}
+
+	long get(long id) {
+		return changed.getOrDefault(id, base);
+	}
+
+	@Override
+	public void playerSaved(Player player) {
+		changed(player.getId());
+	}
+
+	@Override
+	public void playerDeleted(long id) {
+		changed(id);
+	}
+
+	@Override
+	public void playersUpdated(List<Long> ids) {
+		changed(ids);
+	}
+
+	@Override
+	public void playersDeleted(List<Long> ids) {
+		changed(ids);
+	}
+
+	@Override
+	public void playersReloaded() {
+		reset();
+	}
+
+	private void changed(long id) {
+		if (changed.size() >= MAX_TRACKED) reset();
+		else changed.put(id, next());
+	}
+
+	private void changed(List<Long> ids) {
+		if (changed.size() + ids.size() > MAX_TRACKED) {
+			reset();
+			return;
+		}
+		long next = next();
+		for (Long id : ids) changed.put(id, next);
+	}
+
+	/**
+	 * Moves every player to a new shared version. The base is advanced before the own versions are
+	 * dropped, so a concurrent reader may see an older version but never a newer one than its data.
+	 */
+	private void reset() {
+		base = next();
+		changed.clear();
+	}
+
+	private synchronized long next() {
+		version = Math.max(version + 1, System.currentTimeMillis());
+		return version;
+	}
+}
@@ -0,0 +1,89 @@
+package com.game.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from {@code long} keys to non-negative {@code int} values, without
+ * boxing. Used to map player ids to index slots. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+	static final int MISSING = -1;
+
+	private static final long EMPTY_KEY = Long.MIN_VALUE;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private int mask;
+
+	LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		allocate(capacity);
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(long key) {
+		for (int i = index(key); ; i = (i + 1) & mask) {
+			if (keys[i] == EMPTY_KEY) return MISSING;
+			if (keys[i] == key) return values[i];
+		}
+	}
+
+	void put(long key, int value) {
+		if ((size + 1) * 2 > keys.length) rehash(keys.length * 2);
+		int i = index(key);
+		while (keys[i] != EMPTY_KEY && keys[i] != key) i = (i + 1) & mask;
+		if (keys[i] == EMPTY_KEY) size++;
+		keys[i] = key;
+		values[i] = value;
+	}
+
+	int remove(long key) {
+		int i = index(key);
+		while (keys[i] != key) {
+			if (keys[i] == EMPTY_KEY) return MISSING;
+			i = (i + 1) & mask;
+		}
+		int value = values[i];
+		size--;
+		// backward shift deletion keeps probe sequences intact without tombstones
+		for (int gap = i, j = (i + 1) & mask; ; j = (j + 1) & mask) {
+			if (keys[j] == EMPTY_KEY) {
+				keys[gap] = EMPTY_KEY;
+				return value;
+			}
+			int home = index(keys[j]);
+			if (((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				values[gap] = values[j];
+				gap = j;
+			}
+		}
+	}
+
+	private int index(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		Arrays.fill(keys, EMPTY_KEY);
+		values = new int[capacity];
+		mask = capacity - 1;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		allocate(capacity);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY_KEY) put(oldKeys[i], oldValues[i]);
+		}
+	}
+}
@@ -0,0 +1,284 @@
+package com.game.service.index;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+import com.game.controller.PlayerOrder;
+import com.game.service.PlayerCursor;
+
+/**
+ * Slots of {@link PlayerColumns} kept sorted by one {@link PlayerOrder}, with the id as a
+ * tie-breaker like the SQL listing. The slots are held in primitive arrays, about four bytes per
+ * player: a sorted run in which removed slots leave holes, and a small sorted buffer of added
+ * slots. Once the buffer and the holes outgrow a fraction of the run they are merged into a new
+ * run, so a change costs the length of the buffer plus a constant share of a merge. An ordered
+ * page is read by merging the two, starting at a binary search for the keyset cursor.
+ * <p>
+ * Slots are compared by their current column values, so a slot has to be removed before its
+ * values change and added back afterwards. Added slots are only sorted in by {@link #flush},
+ * which makes a bulk load one sort instead of many insertions; it has to run before the index
+ * is read again. Not thread-safe.
+ */
+final class OrderIndex implements TopK.SlotComparator {
+
+	/** Marks the position of a removed slot in the run. */
+	private static final int HOLE = -1;
+	private static final int MIN_BUFFER = 1024;
+	/** The buffer and the holes are merged into the run once they exceed its size shifted by this. */
+	private static final int MERGE_SHIFT = 5;
+	/** Up to this many added slots are flushed by binary insertion, more by sorting and merging. */
+	private static final int INSERTED = 16;
+
+	private final PlayerColumns columns;
+	private final PlayerOrder order;
+	private final int minBuffer;
+	private int[] run = new int[0];
+	private int runSize;
+	private int holes;
+	/** Sorted up to {@link #sorted}, added by {@link #add} but not flushed after it. */
+	private int[] buffer = new int[16];
+	private int bufferSize;
+	private int sorted;
+
+	OrderIndex(PlayerColumns columns, PlayerOrder order) {
+		this(columns, order, MIN_BUFFER);
+	}
+
+	OrderIndex(PlayerColumns columns, PlayerOrder order, int minBuffer) {
+		this.columns = columns;
+		this.order = order;
+		this.minBuffer = minBuffer;
+	}
+
+	void add(int slot) {
+		if (bufferSize == buffer.length) buffer = Arrays.copyOf(buffer, bufferSize * 2);
+		buffer[bufferSize++] = slot;
+	}
+
+	void remove(int slot) {
+		flush();
+		IntUnaryOperator target = other -> compare(other, slot);
+		int position = skipHoles(first(run, runSize, target, true));
+		if (position < runSize && run[position] == slot) {
+			run[position] = HOLE;
+			holes++;
+			return;
+		}
+		position = first(buffer, bufferSize, target, true);
+		if (position < bufferSize && buffer[position] == slot) {
+			System.arraycopy(buffer, position + 1, buffer, position, bufferSize - position - 1);
+			sorted = --bufferSize;
+		}
+	}
+
+	/**
+	 * Sorts the slots added since the last flush into the buffer, and merges the buffer into the
+	 * run when it has grown large enough.
+	 */
+	void flush() {
+		if (bufferSize - sorted <= INSERTED) {
+			// a few changes: each goes to its place, shifting the buffer behind it
+			while (sorted < bufferSize) {
+				int slot = buffer[sorted];
+				int position = first(buffer, sorted, other -> compare(other, slot), false);
+				System.arraycopy(buffer, position, buffer, position + 1, sorted - position);
+				buffer[position] = slot;
+				sorted++;
+			}
+		}
+		else {
+			sort(buffer, sorted, bufferSize);
+			if (sorted > 0) {
+				int[] merged = new int[buffer.length];
+				merge(buffer, 0, sorted, buffer, sorted, bufferSize, merged);
+				buffer = merged;
+			}
+			sorted = bufferSize;
+		}
+		if (bufferSize + holes > Math.max(minBuffer, runSize >>> MERGE_SHIFT)) {
+			int[] merged = new int[runSize - holes + bufferSize];
+			merge(run, 0, runSize, buffer, 0, bufferSize, merged);
+			run = merged;
+			runSize = merged.length;
+			holes = 0;
+			bufferSize = 0;
+			sorted = 0;
+			if (buffer.length > minBuffer) buffer = new int[16];
+		}
+	}
+
+	/**
+	 * Slots in order, starting after the cursor if it is not {@code null}.
+	 */
+	PrimitiveIterator.OfInt after(PlayerCursor cursor) {
+		if (cursor == null) return new Slots(0, 0);
+		IntUnaryOperator target = slot -> compare(columns, slot, cursor);
+		return new Slots(first(run, runSize, target, false), first(buffer, bufferSize, target, false));
+	}
+
+	/**
+	 * Compares the slot with the position of the cursor, by the cursor's order.
+	 *
+	 * @return a positive number if the slot sorts after the cursor
+	 */
+	static int compare(PlayerColumns columns, int slot, PlayerCursor cursor) {
+		int byKey;
+		switch (cursor.getOrder()) {
+			case NAME:
+				byKey = compareNames(columns.names[slot], (String) cursor.getKey());
+				break;
+			case EXPERIENCE:
+				byKey = Integer.compare(columns.experiences[slot], (Integer) cursor.getKey());
+				break;
+			case BIRTHDAY:
+				byKey = Long.compare(columns.birthdays[slot], (Long) cursor.getKey());
+				break;
+			case LEVEL:
+				byKey = Integer.compare(columns.levels[slot], (Integer) cursor.getKey());
+				break;
+			default:
+				byKey = 0;
+		}
+		return byKey != 0 ? byKey : Long.compare(columns.ids[slot], cursor.getId());
+	}
+
+	@Override
+	public int compare(int a, int b) {
+		if (a == b) return 0;
+		int byKey;
+		switch (order) {
+			case NAME:
+				byKey = compareNames(columns.names[a], columns.names[b]);
+				break;
+			case EXPERIENCE:
+				byKey = Integer.compare(columns.experiences[a], columns.experiences[b]);
+				break;
+			case BIRTHDAY:
+				byKey = Long.compare(columns.birthdays[a], columns.birthdays[b]);
+				break;
+			case LEVEL:
+				byKey = Integer.compare(columns.levels[a], columns.levels[b]);
+				break;
+			default:
+				byKey = 0;
+		}
+		return byKey != 0 ? byKey : Long.compare(columns.ids[a], columns.ids[b]);
+	}
+
+	/**
+	 * Binary search for the first position whose slot compares above the target, or not below it
+	 * when {@code inclusive}. Holes are passed over to the next slot; every slot before the
+	 * result compares below the target.
+	 *
+	 * @param target the sign of a slot compared with the target
+	 */
+	private static int first(int[] slots, int size, IntUnaryOperator target, boolean inclusive) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			int position = middle;
+			while (position < high && slots[position] == HOLE) position++;
+			if (position == high) {
+				high = middle;
+				continue;
+			}
+			int comparison = target.applyAsInt(slots[position]);
+			if (comparison > 0 || inclusive && comparison == 0) high = position;
+			else low = position + 1;
+		}
+		return low;
+	}
+
+	private int skipHoles(int position) {
+		while (position < runSize && run[position] == HOLE) position++;
+		return position;
+	}
+
+	/**
+	 * Merges two sorted ranges into {@code target}, dropping holes.
+	 */
+	private void merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] target) {
+		int i = aFrom;
+		int j = bFrom;
+		int k = 0;
+		while (true) {
+			while (i < aTo && a[i] == HOLE) i++;
+			if (i == aTo || j == bTo) break;
+			target[k++] = compare(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+		}
+		while (i < aTo) {
+			if (a[i] != HOLE) target[k++] = a[i];
+			i++;
+		}
+		while (j < bTo) target[k++] = b[j++];
+	}
+
+	/**
+	 * Merge sort of a range, with one temporary array of its length.
+	 */
+	private void sort(int[] slots, int from, int to) {
+		int length = to - from;
+		if (length < 2) return;
+		int[] source = Arrays.copyOfRange(slots, from, to);
+		int[] target = new int[length];
+		for (int width = 1; width < length; width *= 2) {
+			for (int start = 0; start < length; start += 2 * width) {
+				int middle = Math.min(start + width, length);
+				int end = Math.min(start + 2 * width, length);
+				int i = start;
+				int j = middle;
+				int k = start;
+				while (i < middle && j < end) target[k++] = compare(source[i], source[j]) <= 0 ? source[i++] : source[j++];
+				while (i < middle) target[k++] = source[i++];
+				while (j < end) target[k++] = source[j++];
+			}
+			int[] swap = source;
+			source = target;
+			target = swap;
+		}
+		System.arraycopy(source, 0, slots, from, length);
+	}
+
+	/**
+	 * Null names sort first, as in SQL.
+	 */
+	private static int compareNames(String a, String b) {
+		if (a == null || b == null) return a == null ? (b == null ? 0 : -1) : 1;
+		return a.compareTo(b);
+	}
+
+	/**
+	 * Walks the run and the buffer together, in order.
+	 */
+	private final class Slots implements PrimitiveIterator.OfInt {
+		private int inRun;
+		private int inBuffer;
+
+		Slots(int inRun, int inBuffer) {
+			this.inRun = skipHoles(inRun);
+			this.inBuffer = inBuffer;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return inRun < runSize || inBuffer < bufferSize;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) throw new NoSuchElementException();
+			int slot;
+			if (inBuffer == bufferSize || inRun < runSize && compare(run[inRun], buffer[inBuffer]) <= 0) {
+				slot = run[inRun];
+				inRun = skipHoles(inRun + 1);
+			}
+			else {
+				slot = buffer[inBuffer++];
+			}
+			return slot;
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package com.game.service.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerQuery;
+
+/**
+ * Column-oriented copy of the player table: one primitive array per field, indexed by slot.
+ * Enums are stored as byte ordinals and the banned flag as a bit, so a full scan touches a few
+ * contiguous arrays instead of a graph of {@link Player} objects. Slots of deleted players are
+ * reused. Not thread-safe; {@link PlayerIndex} guards it with a lock.
+ * <p>
+ * The low-cardinality fields race, profession and banned are also indexed by compressed bitmaps
+ * of slots, one per value, so their filters are bitmap intersections. Name and title are indexed
+ * by trigrams, which narrow substring filters to a few candidates. Every {@link PlayerOrder} has
+ * an {@link OrderIndex} of the slots.
+ */
+final class PlayerColumns {
+
+	private static final byte NO_ORDINAL = -1;
+	private static final Race[] RACES = Race.values();
+	private static final Profession[] PROFESSIONS = Profession.values();
+
+	long[] ids;
+	String[] names;
+	String[] titles;
+	byte[] races;
+	byte[] professions;
+	long[] birthdays;
+	int[] experiences;
+	int[] levels;
+	int[] untilNextLevels;
+	/** Slots holding a player; the others are free. */
+	final RoaringBitmap live = new RoaringBitmap();
+	final RoaringBitmap banned = new RoaringBitmap();
+	final RoaringBitmap notBanned = new RoaringBitmap();
+	final RoaringBitmap[] byRace = bitmaps(RACES.length);
+	final RoaringBitmap[] byProfession = bitmaps(PROFESSIONS.length);
+	private final TrigramIndex nameGrams = new TrigramIndex();
+	private final TrigramIndex titleGrams = new TrigramIndex();
+	private final OrderIndex[] orders = new OrderIndex[PlayerOrder.values().length];
+
+	private final LongIntHashMap slotsById;
+	private int[] freeSlots = new int[16];
+	private int freeCount;
+	/** One past the highest slot ever used. */
+	private int end;
+
+	PlayerColumns(int expectedSize) {
+		int capacity = Math.max(16, expectedSize);
+		ids = new long[capacity];
+		names = new String[capacity];
+		titles = new String[capacity];
+		races = new byte[capacity];
+		professions = new byte[capacity];
+		birthdays = new long[capacity];
+		experiences = new int[capacity];
+		levels = new int[capacity];
+		untilNextLevels = new int[capacity];
+		slotsById = new LongIntHashMap(capacity);
+		for (PlayerOrder order : PlayerOrder.values()) orders[order.ordinal()] = new OrderIndex(this, order);
+	}
+
+	int size() {
+		return slotsById.size();
+	}
+
+	int end() {
+		return end;
+	}
+
+	int slotOf(long id) {
+		return slotsById.get(id);
+	}
+
+	OrderIndex order(PlayerOrder order) {
+		return orders[order.ordinal()];
+	}
+
+	/**
+	 * Stores the player in its existing slot, or in a free one if its id is new.
+	 *
+	 * @return the slot of the player
+	 */
+	int put(Player player) {
+		long id = player.getId();
+		int slot = slotsById.get(id);
+		if (slot == LongIntHashMap.MISSING) {
+			slot = freeCount > 0 ? freeSlots[--freeCount] : end++;
+			if (slot >= ids.length) grow(slot + 1);
+			slotsById.put(id, slot);
+			live.add(slot);
+		}
+		else {
+			unindex(slot);
+		}
+		ids[slot] = id;
+		names[slot] = player.getName();
+		titles[slot] = player.getTitle();
+		races[slot] = player.getRace() != null ? (byte) player.getRace().ordinal() : NO_ORDINAL;
+		professions[slot] = player.getProfession() != null ? (byte) player.getProfession().ordinal() : NO_ORDINAL;
+		birthdays[slot] = player.getBirthday() != null ? player.getBirthday().getTime() : 0;
+		experiences[slot] = player.getExperience() != null ? player.getExperience() : 0;
+		levels[slot] = player.getLevel() != null ? player.getLevel() : 0;
+		untilNextLevels[slot] = player.getUntilNextLevel() != null ? player.getUntilNextLevel() : 0;
+		nameGrams.add(slot, names[slot]);
+		titleGrams.add(slot, titles[slot]);
+		if (races[slot] != NO_ORDINAL) byRace[races[slot]].add(slot);
+		if (professions[slot] != NO_ORDINAL) byProfession[professions[slot]].add(slot);
+		// a player without the flag is neither, as banned = false does not match NULL in SQL
+		if (player.getBanned() != null) (player.getBanned() ? banned : notBanned).add(slot);
+		for (OrderIndex order : orders) order.add(slot);
+		return slot;
+	}
+
+	/**
+	 * Sorts the players put since the last call into the order indexes; has to run before the
+	 * columns are read again.
+	 */
+	void flush() {
+		for (OrderIndex order : orders) order.flush();
+	}
+
+	/**
+	 * @return the freed slot, or {@link LongIntHashMap#MISSING} if there was no such player
+	 */
+	int remove(long id) {
+		int slot = slotsById.remove(id);
+		if (slot == LongIntHashMap.MISSING) return slot;
+		live.remove(slot);
+		unindex(slot);
+		names[slot] = null;
+		titles[slot] = null;
+		if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+		freeSlots[freeCount++] = slot;
+		return slot;
+	}
+
+	/**
+	 * Slots of the players that may match the filter: exact for race, profession and banned, a
+	 * superset for name and title. The result may be one of the index bitmaps and must not be modified.
+	 */
+	RoaringBitmap candidates(PlayerQuery query) {
+		List<RoaringBitmap> bitmaps = new ArrayList<>(5);
+		if (query.getRace() != null) bitmaps.add(byRace[query.getRace().ordinal()]);
+		if (query.getProfession() != null) bitmaps.add(byProfession[query.getProfession().ordinal()]);
+		if (query.getBanned() != null) bitmaps.add(query.getBanned() ? banned : notBanned);
+		RoaringBitmap byName = nameGrams.candidates(query.getName());
+		if (byName != null) bitmaps.add(byName);
+		RoaringBitmap byTitle = titleGrams.candidates(query.getTitle());
+		if (byTitle != null) bitmaps.add(byTitle);
+		switch (bitmaps.size()) {
+			case 0:
+				return live;
+			case 1:
+				return bitmaps.get(0);
+			default:
+				return FastAggregation.and(bitmaps.iterator());
+		}
+	}
+
+	Race race(int slot) {
+		return races[slot] != NO_ORDINAL ? RACES[races[slot]] : null;
+	}
+
+	Profession profession(int slot) {
+		return professions[slot] != NO_ORDINAL ? PROFESSIONS[professions[slot]] : null;
+	}
+
+	/**
+	 * Materializes a detached {@link Player} from the slot; callers may modify it freely.
+	 */
+	Player toPlayer(int slot) {
+		Player player = new Player();
+		player.setId(ids[slot]);
+		player.setName(names[slot]);
+		player.setTitle(titles[slot]);
+		player.setRace(race(slot));
+		player.setProfession(profession(slot));
+		player.setBirthday(new Date(birthdays[slot]));
+		player.setExperience(experiences[slot]);
+		player.setLevel(levels[slot]);
+		player.setUntilNextLevel(untilNextLevels[slot]);
+		player.setBanned(banned.contains(slot) ? Boolean.TRUE : notBanned.contains(slot) ? Boolean.FALSE : null);
+		return player;
+	}
+
+	/**
+	 * Removes the slot from the secondary indexes; must run before its column values change.
+	 */
+	private void unindex(int slot) {
+		for (OrderIndex order : orders) order.remove(slot);
+		nameGrams.remove(slot, names[slot]);
+		titleGrams.remove(slot, titles[slot]);
+		if (races[slot] != NO_ORDINAL) byRace[races[slot]].remove(slot);
+		if (professions[slot] != NO_ORDINAL) byProfession[professions[slot]].remove(slot);
+		banned.remove(slot);
+		notBanned.remove(slot);
+	}
+
+	private static RoaringBitmap[] bitmaps(int count) {
+		RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+		for (int i = 0; i < count; i++) bitmaps[i] = new RoaringBitmap();
+		return bitmaps;
+	}
+
+	private void grow(int minCapacity) {
+		int capacity = Math.max(minCapacity, ids.length + (ids.length >> 1));
+		ids = Arrays.copyOf(ids, capacity);
+		names = Arrays.copyOf(names, capacity);
+		titles = Arrays.copyOf(titles, capacity);
+		races = Arrays.copyOf(races, capacity);
+		professions = Arrays.copyOf(professions, capacity);
+		birthdays = Arrays.copyOf(birthdays, capacity);
+		experiences = Arrays.copyOf(experiences, capacity);
+		levels = Arrays.copyOf(levels, capacity);
+		untilNextLevels = Arrays.copyOf(untilNextLevels, capacity);
+	}
+}
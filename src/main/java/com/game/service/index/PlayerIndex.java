@@ -0,0 +1,294 @@
+package com.game.service.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.game.config.ConditionalOnSearchEngine;
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.repository.PlayerRepository;
+import com.game.repository.PlayerSpecifications;
+import com.game.service.PlayerChangeListener;
+import com.game.service.PlayerCursor;
+import com.game.service.PlayerPage;
+import com.game.service.PlayerQuery;
+import com.game.service.PlayerSearch;
+
+/**
+ * Answers player queries from an in-memory {@link PlayerColumns} copy of the table instead of SQL.
+ * The copy is loaded on first use, follows committed changes through {@link PlayerChangeListener}
+ * and is dropped to be loaded again when the table is reloaded. Results are fresh {@link Player}
+ * instances, never shared with the index.
+ */
+@Component
+@ConditionalOnSearchEngine("index")
+public class PlayerIndex implements PlayerSearch, PlayerChangeListener {
+
+	/** The order index is walked unless fewer than one player in this many is a candidate. */
+	private static final int SELECTIVE_RATIO = 16;
+	/** Ids per query when players changed in bulk are read again. */
+	private static final int RELOAD_CHUNK = 1000;
+
+	private final PlayerRepository repository;
+	private final TransactionTemplate reloads;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	/**
+	 * Applies committed changes one at a time: rows read for a later notification are never
+	 * overwritten by rows read earlier for another one.
+	 */
+	private final ReentrantLock changes = new ReentrantLock();
+	/** {@code null} until loaded, guarded by {@link #lock}. */
+	private PlayerColumns columns;
+
+	@Autowired
+	public PlayerIndex(PlayerRepository repository, PlatformTransactionManager transactionManager) {
+		this.repository = repository;
+		// notifications arrive after the commit of the changing transaction, reads need their own
+		this.reloads = new TransactionTemplate(transactionManager);
+		this.reloads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.reloads.setReadOnly(true);
+	}
+
+	@Override
+	public List<Player> find(PlayerQuery query) {
+		return read(columns -> items(columns, query));
+	}
+
+	@Override
+	public long count(PlayerQuery query) {
+		return read(columns -> total(columns, query));
+	}
+
+	@Override
+	public PlayerPage page(PlayerQuery query) {
+		return read(columns -> PlayerPage.of(items(columns, query), total(columns, query), query));
+	}
+
+	/**
+	 * Reads the player again instead of indexing the saved instance: notifications of two
+	 * transactions changing the same player may arrive in the opposite order of their commits,
+	 * the table always has the row of the last one.
+	 */
+	@Override
+	public void playerSaved(Player player) {
+		playersUpdated(Collections.singletonList(player.getId()));
+	}
+
+	@Override
+	public void playerDeleted(long id) {
+		playersDeleted(Collections.singletonList(id));
+	}
+
+	/**
+	 * Reads the players again; those no longer in the table were deleted by a transaction whose
+	 * notification came first, and are removed. The rows are read before the write lock is taken,
+	 * so queries are not held up by the database; only applying them excludes queries.
+	 */
+	@Override
+	public void playersUpdated(List<Long> ids) {
+		changes.lock();
+		try {
+			for (int from = 0; from < ids.size() && isLoaded(); from += RELOAD_CHUNK) {
+				List<Long> chunk = ids.subList(from, Math.min(from + RELOAD_CHUNK, ids.size()));
+				List<Player> rows = new ArrayList<>(chunk.size());
+				reloads.executeWithoutResult(status ->
+						repository.scan(PlayerSpecifications.withIds(chunk), PlayerSpecifications.sortedBy(PlayerOrder.ID), rows::add));
+				Set<Long> missing = new HashSet<>(chunk);
+				write(columns -> {
+					for (Player player : rows) {
+						missing.remove(player.getId());
+						columns.put(player);
+					}
+					missing.forEach(columns::remove);
+				});
+			}
+		}
+		finally {
+			changes.unlock();
+		}
+	}
+
+	@Override
+	public void playersDeleted(List<Long> ids) {
+		changes.lock();
+		try {
+			write(columns -> ids.forEach(columns::remove));
+		}
+		finally {
+			changes.unlock();
+		}
+	}
+
+	@Override
+	public void playersReloaded() {
+		lock.writeLock().lock();
+		try {
+			columns = null;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Filters on race, profession and banned only are counted from bitmap cardinalities without
+	 * visiting a single player.
+	 */
+	private static long total(PlayerColumns columns, PlayerQuery query) {
+		RoaringBitmap candidates = columns.candidates(query);
+		if (!hasScalarFilter(query)) return candidates.getCardinality();
+		long count = 0;
+		for (PeekableIntIterator slots = candidates.getIntIterator(); slots.hasNext(); ) {
+			if (matches(columns, slots.next(), query)) count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Reads the page by walking the {@link OrderIndex} of the query order from its cursor, unless
+	 * the filter is selective enough that selecting from its few candidates is cheaper than
+	 * skipping the players that do not match.
+	 */
+	private static List<Player> items(PlayerColumns columns, PlayerQuery query) {
+		RoaringBitmap candidates = columns.candidates(query);
+		if ((long) candidates.getCardinality() * SELECTIVE_RATIO < columns.size()) return selected(columns, candidates, query);
+		boolean all = candidates == columns.live;
+		boolean scalar = hasScalarFilter(query);
+		PrimitiveIterator.OfInt slots = columns.order(query.getOrder()).after(query.getCursor());
+		List<Player> players = new ArrayList<>(Math.min(query.getPageSize(), candidates.getCardinality()));
+		long skip = query.getOffset();
+		while (players.size() < query.getPageSize() && slots.hasNext()) {
+			int slot = slots.nextInt();
+			if (!all && !candidates.contains(slot) || scalar && !matches(columns, slot, query)) continue;
+			if (skip > 0) skip--;
+			else players.add(columns.toPlayer(slot));
+		}
+		return players;
+	}
+
+	/**
+	 * Selects the page from the candidates with a bounded heap instead of sorting all of them.
+	 */
+	private static List<Player> selected(PlayerColumns columns, RoaringBitmap candidates, PlayerQuery query) {
+		int window = (int) Math.min((long) query.getOffset() + query.getPageSize(), Integer.MAX_VALUE);
+		TopK topK = new TopK(window, columns.order(query.getOrder()));
+		PlayerCursor cursor = query.getCursor();
+		for (PeekableIntIterator slots = candidates.getIntIterator(); slots.hasNext(); ) {
+			int slot = slots.next();
+			if (!matches(columns, slot, query) || cursor != null && OrderIndex.compare(columns, slot, cursor) <= 0) continue;
+			topK.offer(slot);
+		}
+		int[] page = topK.window((int) Math.min(query.getOffset(), Integer.MAX_VALUE));
+		List<Player> players = new ArrayList<>(page.length);
+		for (int slot : page) players.add(columns.toPlayer(slot));
+		return players;
+	}
+
+	/**
+	 * Whether the query filters on anything {@link PlayerColumns#candidates} does not answer exactly.
+	 */
+	private static boolean hasScalarFilter(PlayerQuery query) {
+		return query.getName() != null || query.getTitle() != null || query.getAfter() != null || query.getBefore() != null
+				|| query.getMinExperience() != null || query.getMaxExperience() != null
+				|| query.getMinLevel() != null || query.getMaxLevel() != null;
+	}
+
+	/**
+	 * Checks the filters not answered exactly by the bitmaps; the slot is taken from {@link PlayerColumns#candidates}.
+	 */
+	private static boolean matches(PlayerColumns columns, int slot, PlayerQuery query) {
+		if (query.getName() != null && (columns.names[slot] == null || !columns.names[slot].contains(query.getName())))
+			return false;
+		if (query.getTitle() != null && (columns.titles[slot] == null || !columns.titles[slot].contains(query.getTitle())))
+			return false;
+		if (query.getAfter() != null && columns.birthdays[slot] <= query.getAfter()) return false;
+		if (query.getBefore() != null && columns.birthdays[slot] >= query.getBefore()) return false;
+		if (query.getMinExperience() != null && columns.experiences[slot] < query.getMinExperience()) return false;
+		if (query.getMaxExperience() != null && columns.experiences[slot] > query.getMaxExperience()) return false;
+		if (query.getMinLevel() != null && columns.levels[slot] < query.getMinLevel()) return false;
+		return query.getMaxLevel() == null || columns.levels[slot] <= query.getMaxLevel();
+	}
+
+	private <T> T read(Function<PlayerColumns, T> action) {
+		lock.readLock().lock();
+		try {
+			if (columns != null) return action.apply(columns);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+		lock.writeLock().lock();
+		try {
+			if (columns == null) columns = load();
+			// downgrade, so that the result is computed from the columns just loaded
+			lock.readLock().lock();
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+		try {
+			return action.apply(columns);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Whether the columns are loaded; changes arriving before are not read from the table at all.
+	 */
+	private boolean isLoaded() {
+		lock.readLock().lock();
+		try {
+			return columns != null;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Applies a committed change. Changes arriving before the first load are dropped: the load
+	 * reads the table after they were committed.
+	 */
+	private void write(Consumer<PlayerColumns> change) {
+		lock.writeLock().lock();
+		try {
+			if (columns != null) {
+				change.accept(columns);
+				columns.flush();
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Runs under the write lock, so changes committed while the table is being read wait for the
+	 * load and are applied on top of it.
+	 */
+	private PlayerColumns load() {
+		PlayerColumns loaded = new PlayerColumns((int) repository.count());
+		PlayerQuery all = PlayerQuery.builder().build();
+		repository.scan(PlayerSpecifications.filteredBy(all), PlayerSpecifications.sortedBy(PlayerOrder.ID), loaded::put);
+		loaded.flush();
+		return loaded;
+	}
+}
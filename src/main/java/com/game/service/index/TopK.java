@@ -0,0 +1,84 @@
+package com.game.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Selects one page of slots out of many without sorting them all. A bounded max-heap keeps the
+ * {@code k} smallest slots offered so far, so that for {@code n} slots the page costs
+ * O(n log k) instead of the O(n log n) of a full sort, where {@code k} is offset plus page size.
+ * Not thread-safe.
+ */
+public final class TopK {
+
+	/**
+	 * Orders slots without boxing them.
+	 */
+	@FunctionalInterface
+	public interface SlotComparator {
+		int compare(int a, int b);
+	}
+
+	private final int k;
+	private final SlotComparator comparator;
+	/** Max-heap of the smallest slots offered: the root is the largest of them. */
+	private int[] heap;
+	private int size;
+
+	public TopK(int k, SlotComparator comparator) {
+		this.k = k;
+		this.comparator = comparator;
+		this.heap = new int[Math.min(k, 16)];
+	}
+
+	public void offer(int slot) {
+		if (size < k) {
+			if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min((long) size * 2, k));
+			heap[size] = slot;
+			siftUp(size++);
+		}
+		else if (k > 0 && comparator.compare(slot, heap[0]) < 0) {
+			heap[0] = slot;
+			siftDown(0, size);
+		}
+	}
+
+	/**
+	 * Ends the selection: returns the selected slots from position {@code offset} on, in order.
+	 */
+	public int[] window(int offset) {
+		// heap sort in place: the largest remaining slot moves behind the shrinking heap
+		for (int end = size - 1; end > 0; end--) {
+			swap(0, end);
+			siftDown(0, end);
+		}
+		return offset < size ? Arrays.copyOfRange(heap, offset, size) : new int[0];
+	}
+
+	private void siftUp(int i) {
+		while (i > 0) {
+			int parent = (i - 1) >>> 1;
+			if (comparator.compare(heap[i], heap[parent]) <= 0) return;
+			swap(i, parent);
+			i = parent;
+		}
+	}
+
+	private void siftDown(int i, int end) {
+		while (true) {
+			int largest = i;
+			int left = 2 * i + 1;
+			int right = left + 1;
+			if (left < end && comparator.compare(heap[left], heap[largest]) > 0) largest = left;
+			if (right < end && comparator.compare(heap[right], heap[largest]) > 0) largest = right;
+			if (largest == i) return;
+			swap(i, largest);
+			i = largest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int slot = heap[i];
+		heap[i] = heap[j];
+		heap[j] = slot;
+	}
+}
@@ -0,0 +1,60 @@
+package com.game.service.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Inverted index from every three consecutive characters of a text to the slots containing them.
+ * A text containing a fragment contains all of the fragment's trigrams, so intersecting their
+ * postings narrows a substring search to candidates that still have to be checked with
+ * {@link String#contains}. Trigrams are taken over UTF-16 chars, exactly as {@code contains}
+ * compares them, so Cyrillic text needs no special handling. Not thread-safe.
+ */
+final class TrigramIndex {
+
+	static final int GRAM_LENGTH = 3;
+
+	private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+
+	void add(int slot, String text) {
+		if (text == null) return;
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			postings.computeIfAbsent(gram(text, i), gram -> new RoaringBitmap()).add(slot);
+		}
+	}
+
+	void remove(int slot, String text) {
+		if (text == null) return;
+		for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+			Long gram = gram(text, i);
+			RoaringBitmap slots = postings.get(gram);
+			if (slots == null) continue;
+			slots.remove(slot);
+			if (slots.isEmpty()) postings.remove(gram);
+		}
+	}
+
+	/**
+	 * Slots whose text may contain {@code fragment}, or {@code null} if the fragment is too short
+	 * to narrow the search. The result may be a posting of the index and must not be modified.
+	 */
+	RoaringBitmap candidates(String fragment) {
+		if (fragment == null || fragment.length() < GRAM_LENGTH) return null;
+		List<RoaringBitmap> slots = new ArrayList<>();
+		for (int i = 0; i + GRAM_LENGTH <= fragment.length(); i++) {
+			RoaringBitmap posting = postings.get(gram(fragment, i));
+			if (posting == null) return new RoaringBitmap();
+			slots.add(posting);
+		}
+		return slots.size() == 1 ? slots.get(0) : FastAggregation.and(slots.iterator());
+	}
+
+	private static long gram(String text, int start) {
+		return (long) text.charAt(start) << 32 | (long) text.charAt(start + 1) << 16 | text.charAt(start + 2);
+	}
+}
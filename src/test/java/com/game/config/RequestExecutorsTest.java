@@ -0,0 +1,59 @@
+package com.game.config;
+
+import org.junit.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.util.AssertionErrors.fail;
+
+public class RequestExecutorsTest {
+
+    //test1
+    @Test
+    public void virtualModeRunsOnVirtualThreadsOrNeedsJdk21() throws Exception {
+        AsyncTaskExecutor executor;
+        try {
+            executor = RequestExecutors.virtual(2);
+        }
+        catch (IllegalStateException e) {
+            assertTrue("Без виртуальных потоков должна указываться нужная версия JDK.", e.getMessage().contains("JDK 21"));
+            return;
+        }
+        Future<Boolean> virtual = executor.submit(() -> (Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        assertEquals("Задача должна выполняться в виртуальном потоке.", true, virtual.get(10, TimeUnit.SECONDS));
+    }
+
+    //test2
+    @Test
+    public void platformModeRejectsBeyondItsQueue() throws Exception {
+        AsyncTaskExecutor executor = RequestExecutors.platform(1, 1);
+        ((ThreadPoolTaskExecutor) executor).initialize();
+        Object lock = new Object();
+        try {
+            synchronized (lock) {
+                executor.execute(() -> {
+                    synchronized (lock) {
+                        // waits for the test to release the lock
+                    }
+                });
+                executor.execute(() -> { });
+                try {
+                    executor.execute(() -> { });
+                    fail("Задача сверх очереди должна отклоняться.");
+                }
+                catch (RejectedExecutionException expected) {
+                    // the pool thread is busy and the queue is full
+                }
+            }
+        }
+        finally {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+}
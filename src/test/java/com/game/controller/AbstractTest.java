@@ -3,6 +3,7 @@ package com.game.controller;
 import com.game.config.AppConfig;
 import com.game.config.MyWebAppInit;
 import com.game.config.WebConfig;
+import com.game.service.PlayerService;
 import org.junit.Before;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +13,6 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlConfig;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
-import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
@@ -24,7 +24,7 @@ import org.springframework.web.context.WebApplicationContext;
 public abstract class AbstractTest {
 
     WebApplicationContext context;
-    MockMvc mockMvc;
+    AsyncMockMvc mockMvc;
 
     @Autowired
     public void setContext(WebApplicationContext context) {
@@ -33,12 +33,14 @@ public abstract class AbstractTest {
 
     @Before
     public void setup() {
-        mockMvc = MockMvcBuilders
+        // test.sql has just recreated the table behind the application's back
+        context.getBean(PlayerService.class).refresh();
+        mockMvc = new AsyncMockMvc(MockMvcBuilders
                 .webAppContextSetup(context)
                 .addFilter(((request, response, chain) -> {
                     response.setCharacterEncoding("UTF-8");
                     chain.doFilter(request, response);
                 }))
-                .build();
+                .build());
     }
 }
@@ -0,0 +1,31 @@
+package com.game.controller;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Performs a request like {@link MockMvc} and, if the handler went asynchronous, waits for its
+ * result and performs the async dispatch, so that tests see the complete response either way.
+ */
+class AsyncMockMvc {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private final MockMvc mockMvc;
+
+    AsyncMockMvc(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions actions = mockMvc.perform(requestBuilder);
+        MvcResult result = actions.andReturn();
+        if (!result.getRequest().isAsyncStarted()) return actions;
+        result.getAsyncResult(TIMEOUT_MS);
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,79 @@
+package com.game.controller;
+
+import org.junit.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// a single worker with a single queued task, so that two blocked tasks saturate the executor
+@TestPropertySource(properties = {"web.async.threads=1", "web.async.queue-capacity=1"})
+public class AsyncRequestTest extends AbstractTest {
+
+    //test1
+    @Test
+    public void databaseWorkLeavesTheContainerThread() throws Exception {
+        MockMvc plain = MockMvcBuilders.webAppContextSetup(context).build();
+
+        for (String url : new String[]{"/rest/players", "/rest/players/1", "/rest/players/export"}) {
+            MvcResult result = plain.perform(get(url))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            // the next request waits in the queue until the worker is done with this one
+            result.getAsyncResult(10_000);
+        }
+    }
+
+    //test2
+    @Test
+    public void notModifiedIsAnsweredWithoutTheExecutor() throws Exception {
+        String etag = mockMvc.perform(get("/rest/players/count"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        MockMvc plain = MockMvcBuilders.webAppContextSetup(context).build();
+
+        plain.perform(get("/rest/players/count").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotModified());
+    }
+
+    //test3
+    @Test
+    public void saturatedExecutorAnswersServiceUnavailable() throws Exception {
+        AsyncTaskExecutor executor = context.getBean(AsyncTaskExecutor.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch queuedRunning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // one task holds the worker, the other the only place in the queue
+        executor.execute(() -> await(running, release));
+        running.await();
+        executor.execute(() -> await(queuedRunning, release));
+        try {
+            mockMvc.perform(get("/rest/players")).andExpect(status().isServiceUnavailable());
+        }
+        finally {
+            release.countDown();
+        }
+        // once the queued task has been taken by the worker, the queue has room again
+        queuedRunning.await();
+        mockMvc.perform(get("/rest/players")).andExpect(status().isOk());
+    }
+
+    private static void await(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            release.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class BatchCreatePlayerTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void validPlayersAreCreatedAndInvalidReported() throws Exception {
+        int before = count("");
+
+        String content = "[" + TestsHelper.NORMAL_JSON + "," + TestsHelper.NEGATIVE_EXPERIENCE_JSON + "," + TestsHelper.BANNED_TRUE_JSON + "]";
+        String contentAsString = mockMvc.perform(post("/rest/players/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(content))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode actual = mapper.readTree(contentAsString);
+
+        assertEquals("Должно быть создано два игрока.", 2, actual.get("created").asInt());
+        assertEquals("Один игрок должен быть отклонён.", 1, actual.get("rejected").asInt());
+        JsonNode items = actual.get("items");
+        assertEquals("Результат должен быть по каждому элементу.", 3, items.size());
+        assertTrue("Отклонённый элемент должен содержать причину.", items.get(1).get("player").isNull() && !items.get(1).get("error").isNull());
+        assertEquals("Номер элемента должен сохраняться.", 2, items.get(2).get("index").asInt());
+
+        for (int i : new int[]{0, 2}) {
+            PlayerInfoTest created = mapper.treeToValue(items.get(i).get("player"), PlayerInfoTest.class);
+            assertNotNull("Созданному игроку должен быть присвоен id.", created.id);
+            String stored = mockMvc.perform(get("/rest/players/" + created.id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            PlayerInfoTest actualPlayer = mapper.readValue(stored, PlayerInfoTest.class);
+            // the birthday column keeps the date only
+            assertEquals("Созданный игрок должен читаться по id.", created.name + created.title + created.experience + created.level,
+                    actualPlayer.name + actualPlayer.title + actualPlayer.experience + actualPlayer.level);
+        }
+        assertEquals("Созданные игроки должны учитываться в количестве.", before + 2, count(""));
+        assertEquals("Созданный игрок должен находиться по фильтрам.", 1, count("?name=Амарылис&banned=true"));
+    }
+
+    //test2
+    @Test
+    public void levelIsCalculatedForCreatedPlayers() throws Exception {
+        String contentAsString = mockMvc.perform(post("/rest/players/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + String.format(TestsHelper.NORMAL_JSON_WITH_LEVEL, 99) + "]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PlayerInfoTest created = mapper.treeToValue(mapper.readTree(contentAsString).at("/items/0/player"), PlayerInfoTest.class);
+
+        String single = mockMvc.perform(post("/rest/players/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(TestsHelper.NORMAL_JSON_WITH_LEVEL, 99)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PlayerInfoTest expected = mapper.readValue(single, PlayerInfoTest.class);
+
+        assertEquals("Уровень должен вычисляться так же, как при одиночном создании.", expected.level, created.level);
+        assertEquals("Опыт до следующего уровня должен вычисляться так же, как при одиночном создании.", expected.untilNextLevel, created.untilNextLevel);
+        assertTrue("Id должны выдаваться по возрастанию.", expected.id > created.id && created.id > testsHelper.getAllPlayers().size());
+    }
+
+    //test3
+    @Test
+    public void emptyBatchCreatesNothing() throws Exception {
+        String contentAsString = mockMvc.perform(post("/rest/players/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals("Пустой пакет не должен создавать игроков.", 0, mapper.readTree(contentAsString).get("created").asInt());
+        assertEquals("Количество игроков не должно измениться.", testsHelper.getAllPlayers().size(), count(""));
+    }
+
+    private int count(String filter) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get("/rest/players/count" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
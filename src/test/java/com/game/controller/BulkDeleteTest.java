@@ -0,0 +1,82 @@
+package com.game.controller;
+
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+import com.game.service.PlayerService;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// small chunks, so that a bulk delete spans several of them
+@TestPropertySource(properties = "db.batch-size=3")
+public class BulkDeleteTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+
+    //test1
+    @Test
+    public void deleteByFilter() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+        // read the player first, so that a stale copy would be left in the cache
+        mockMvc.perform(get("/rest/players/6")).andExpect(status().isOk());
+
+        int deleted = Integer.parseInt(mockMvc.perform(delete("/rest/players/bulk?race=ELF"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        assertEquals("Должны удалиться все подходящие игроки.", elves, deleted);
+        assertEquals("Подходящих игроков не должно остаться.", 0, count("?race=ELF"));
+        assertEquals("Остальные игроки должны остаться.", testsHelper.getAllPlayers().size() - elves, count(""));
+        mockMvc.perform(get("/rest/players/6")).andExpect(status().isNotFound());
+    }
+
+    //test2
+    @Test
+    public void deleteWithoutMatchesReturnsZero() throws Exception {
+        mockMvc.perform(delete("/rest/players/bulk?minLevel=1000"))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertEquals("Ничего не должно удалиться.", "0", result.getResponse().getContentAsString()));
+
+        assertEquals("Все игроки должны остаться.", testsHelper.getAllPlayers().size(), count(""));
+    }
+
+    //test3
+    @Test
+    public void deleteWithoutFilterIsRejected() throws Exception {
+        mockMvc.perform(delete("/rest/players/bulk")).andExpect(status().isBadRequest());
+
+        assertEquals("Все игроки должны остаться.", testsHelper.getAllPlayers().size(), count(""));
+    }
+
+    //test4
+    @Test
+    public void deleteMatchesTheCountOfItsFilter() throws Exception {
+        new JdbcTemplate(context.getBean(DataSource.class)).update("INSERT INTO player(name, title, race, profession, birthday, banned, experience, level, untilNextLevel)"
+                + " VALUES ('Безфлага', 'Без флага', 'ELF', 'DRUID', '2005-05-05', NULL, 0, 0, 100)");
+        context.getBean(PlayerService.class).refresh();
+
+        for (String filter : new String[]{"?title=жАжД", "?title=ЖАЖД", "?title=жажд", "?name=безфлага", "?name=Безфлага&banned=false"}) {
+            int count = count(filter);
+            int deleted = Integer.parseInt(mockMvc.perform(delete("/rest/players/bulk" + filter))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+
+            assertEquals("Удаление должно затронуть тех же игроков, что и подсчёт: " + filter, count, deleted);
+        }
+        assertEquals("Игрок без флага бана должен остаться.", 1, count("?name=Безфлага"));
+    }
+
+    private int count(String filter) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get("/rest/players/count" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
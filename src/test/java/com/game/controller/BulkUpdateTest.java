@@ -0,0 +1,131 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "db.batch-size=3")
+public class BulkUpdateTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void banByFilter() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+        // read the player first, so that a stale copy would be left in the cache
+        mockMvc.perform(get("/rest/players/6")).andExpect(status().isOk());
+
+        int updated = bulk("?race=ELF", "{\"banned\": true}");
+
+        assertEquals("Должны обновиться все подходящие игроки.", elves, updated);
+        assertEquals("Все подходящие игроки должны быть забанены.", elves, count("?race=ELF&banned=true"));
+        assertEquals("Остальные игроки не должны измениться.",
+                testsHelper.getPlayerInfosByBaned(true, testsHelper.getAllPlayers()).size() + elves
+                        - testsHelper.getPlayerInfosByBaned(true, testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers())).size(),
+                count("?banned=true"));
+        PlayerInfoTest player = mapper.readValue(mockMvc.perform(get("/rest/players/6"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), PlayerInfoTest.class);
+        assertEquals("Игрок, прочитанный по id, должен быть забанен.", true, player.banned);
+    }
+
+    //test2
+    @Test
+    public void experienceDeltaRecalculatesLevel() throws Exception {
+        List<PlayerInfoTest> expected = testsHelper.getPlayerInfosByMaxLevel(20, testsHelper.getAllPlayers());
+
+        int updated = bulk("?maxLevel=20", "{\"experienceDelta\": 123456}");
+
+        assertEquals("Должны обновиться все подходящие игроки.", expected.size(), updated);
+        for (PlayerInfoTest before : expected) {
+            PlayerInfoTest after = player(before.id);
+            int experience = before.experience + 123456;
+            int level = (int) ((Math.sqrt(2500 + 200 * experience) - 50) / 100);
+            assertEquals("Опыт должен увеличиться на заданную величину.", experience, after.experience.intValue());
+            assertEquals("Уровень должен пересчитаться.", level, after.level.intValue());
+            assertEquals("Опыт до следующего уровня должен пересчитаться.", 50 * (level + 1) * (level + 2) - experience, after.untilNextLevel.intValue());
+        }
+        assertEquals("Поиск по уровню должен учитывать новый уровень.", 0, count("?maxLevel=20&minExperience=0&maxExperience=123455"));
+    }
+
+    //test3
+    @Test
+    public void experienceIsKeptWithinRange() throws Exception {
+        bulk("?race=HOBBIT", "{\"experienceDelta\": -100000000}");
+        bulk("?race=DWARF", "{\"experienceDelta\": 100000000}");
+
+        for (PlayerInfoTest player : players("?race=HOBBIT&pageSize=100")) {
+            assertTrue("Опыт не должен становиться отрицательным.", player.experience == 0 && player.level == 0 && player.untilNextLevel == 100);
+        }
+        for (PlayerInfoTest player : players("?race=DWARF&pageSize=100")) {
+            assertEquals("Опыт не должен превышать максимум.", 10000000, player.experience.intValue());
+            assertEquals("Уровень должен соответствовать максимальному опыту.", 446, player.level.intValue());
+        }
+    }
+
+    //test4
+    @Test
+    public void emptyChangeIsRejected() throws Exception {
+        mockMvc.perform(post("/rest/players/bulk?race=ELF")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test5
+    @Test
+    public void updateWithoutFilterIsRejected() throws Exception {
+        mockMvc.perform(post("/rest/players/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"banned\": true}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals("Никто не должен быть забанен.",
+                testsHelper.getPlayerInfosByBaned(true, testsHelper.getAllPlayers()).size(), count("?banned=true"));
+    }
+
+    private int bulk(String filter, String change) throws Exception {
+        return Integer.parseInt(mockMvc.perform(post("/rest/players/bulk" + filter)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(change))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private int count(String filter) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get("/rest/players/count" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private PlayerInfoTest player(long id) throws Exception {
+        return mapper.readValue(mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), PlayerInfoTest.class);
+    }
+
+    private List<PlayerInfoTest> players(String filter) throws Exception {
+        String contentAsString = mockMvc.perform(get("/rest/players" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readValue(contentAsString, typeReference);
+    }
+}
@@ -0,0 +1,114 @@
+package com.game.controller;
+
+import com.game.controller.utils.TestsHelper;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertNotNull;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ConditionalGetTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+
+    //test1
+    @Test
+    public void unchangedDataIsNotSentAgain() throws Exception {
+        // Last-Modified is only sent once the second of the data version, the reload of test.sql, is over
+        Thread.sleep(1000);
+        for (String url : new String[]{"/rest/players?race=ELF", "/rest/players/count?race=ELF", "/rest/players/page", "/rest/players/3"}) {
+            MockHttpServletResponse first = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            String etag = first.getHeader(HttpHeaders.ETAG);
+            assertNotNull("Ответ должен содержать ETag: " + url, etag);
+            assertNotNull("Ответ должен содержать Last-Modified: " + url, first.getHeader(HttpHeaders.LAST_MODIFIED));
+
+            MockHttpServletResponse second = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andReturn().getResponse();
+            assertEquals("Ответ 304 не должен содержать тела: " + url, 0, second.getContentLength());
+
+            mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    //test2
+    @Test
+    public void changeInvalidatesTableAndPlayerVersions() throws Exception {
+        String listTag = etag("/rest/players");
+        String countTag = etag("/rest/players/count");
+        String changedTag = etag("/rest/players/3");
+        String otherTag = etag("/rest/players/4");
+
+        mockMvc.perform(post("/rest/players/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Новое\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players").header(HttpHeaders.IF_NONE_MATCH, listTag)).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/count").header(HttpHeaders.IF_NONE_MATCH, countTag)).andExpect(status().isOk());
+        String player = mockMvc.perform(get("/rest/players/3").header(HttpHeaders.IF_NONE_MATCH, changedTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue("Изменённый игрок должен вернуться с новыми данными.", player.contains("Новое"));
+        mockMvc.perform(get("/rest/players/4").header(HttpHeaders.IF_NONE_MATCH, otherTag)).andExpect(status().isNotModified());
+    }
+
+    //test3
+    @Test
+    public void deletedPlayerIsNotAnsweredFromVersion() throws Exception {
+        String countTag = etag("/rest/players/count");
+        String playerTag = etag("/rest/players/5");
+
+        mockMvc.perform(delete("/rest/players/5")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players/5").header(HttpHeaders.IF_NONE_MATCH, playerTag)).andExpect(status().isNotFound());
+        String count = mockMvc.perform(get("/rest/players/count").header(HttpHeaders.IF_NONE_MATCH, countTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("Количество должно уменьшиться.", testsHelper.getAllPlayers().size() - 1, Integer.parseInt(count));
+    }
+
+    //test4
+    @Test
+    public void changeInTheSecondOfLastModifiedIsNotHidden() throws Exception {
+        rename("Первое");
+        MockHttpServletResponse first = mockMvc.perform(get("/rest/players/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        // most likely still the second of the first change
+        rename("Второе");
+
+        MockHttpServletRequestBuilder again = get("/rest/players/3");
+        String lastModified = first.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) again.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        String player = mockMvc.perform(again)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue("Изменение в секунду Last-Modified не должно скрываться ответом 304.", player.contains("Второе"));
+    }
+
+    private void rename(String name) throws Exception {
+        mockMvc.perform(post("/rest/players/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,109 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.game.controller.utils.TestsHelper;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ContentNegotiationTest extends AbstractTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final TestsHelper testsHelper = new TestsHelper();
+
+    //test1
+    @Test
+    public void jsonIsTheDefault() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/rest/players"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertTrue("По умолчанию ответ должен быть в JSON.", MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.valueOf(response.getContentType())));
+        assertTrue("Ответ должен зависеть от заголовка Accept.", response.getHeaders(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT));
+    }
+
+    //test2
+    @Test
+    public void binaryFormatsCarryTheSamePlayers() throws Exception {
+        JsonNode expected = json.readTree(mockMvc.perform(get("/rest/players?pageSize=50"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        int jsonSize = json.writeValueAsBytes(expected).length;
+
+        for (Object[] format : new Object[][]{{MediaType.APPLICATION_CBOR, cbor}, {SMILE, smile}}) {
+            MediaType mediaType = (MediaType) format[0];
+            MockHttpServletResponse response = mockMvc.perform(get("/rest/players?pageSize=50").accept(mediaType))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+
+            assertTrue("Тип содержимого должен соответствовать Accept: " + mediaType, mediaType.isCompatibleWith(MediaType.valueOf(response.getContentType())));
+            assertEquals("Игроки должны совпадать с JSON: " + mediaType, expected, ((ObjectMapper) format[1]).readTree(response.getContentAsByteArray()));
+            assertTrue("Двоичный формат должен быть компактнее JSON: " + mediaType, response.getContentAsByteArray().length < jsonSize);
+        }
+    }
+
+    //test3
+    @Test
+    public void binaryBodiesAreAccepted() throws Exception {
+        JsonNode player = json.readTree(TestsHelper.NORMAL_JSON);
+
+        byte[] created = mockMvc.perform(post("/rest/players/")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cbor.writeValueAsBytes(player)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        long id = cbor.readTree(created).get("id").asLong();
+
+        mockMvc.perform(post("/rest/players/" + id)
+                .contentType(SMILE)
+                .content(smile.writeValueAsBytes(json.readTree("{\"title\": \"Двоичный\"}"))))
+                .andExpect(status().isOk());
+
+        JsonNode actual = json.readTree(mockMvc.perform(get("/rest/players/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        assertEquals("Имя из CBOR должно сохраниться.", player.get("name"), actual.get("name"));
+        assertEquals("Титул из Smile должен сохраниться.", "Двоичный", actual.get("title").asText());
+    }
+
+    //test4
+    @Test
+    public void eachFormatHasItsOwnEtag() throws Exception {
+        String jsonTag = mockMvc.perform(get("/rest/players/count"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborTag = mockMvc.perform(get("/rest/players/count").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smileTag = mockMvc.perform(get("/rest/players/count").accept(SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertTrue("У JSON и CBOR должны быть разные ETag.", !jsonTag.equals(cborTag));
+        assertTrue("У JSON и Smile должны быть разные ETag.", !jsonTag.equals(smileTag));
+        assertTrue("У CBOR и Smile должны быть разные ETag.", !cborTag.equals(smileTag));
+
+        byte[] body = mockMvc.perform(get("/rest/players/count").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("ETag JSON не должен подтверждать ответ в CBOR.", testsHelper.getAllPlayers().size(), cbor.readTree(body).asInt());
+        mockMvc.perform(get("/rest/players/count").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, cborTag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -0,0 +1,87 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class CursorPaginationTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void cursorWalkReturnsAllPlayersInIdOrder() throws Exception {
+        List<PlayerInfoTest> actual = walk("/rest/players?pageSize=7");
+
+        assertEquals("Обход по курсору должен вернуть всех игроков в порядке id.", testsHelper.getAllPlayers(), actual);
+    }
+
+    //test2
+    @Test
+    public void cursorWalkMatchesOffsetPagingForEveryOrder() throws Exception {
+        for (PlayerOrder order : PlayerOrder.values()) {
+            String contentAsString = mockMvc.perform(get("/rest/players?pageSize=100&order=" + order))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<PlayerInfoTest> expected = mapper.readValue(contentAsString, typeReference);
+
+            List<PlayerInfoTest> actual = walk("/rest/players?pageSize=6&order=" + order);
+
+            assertEquals("Обход по курсору с order=" + order + " должен совпадать с постраничным выводом.", expected, actual);
+        }
+    }
+
+    //test3
+    @Test
+    public void cursorWithFilterStaysWithinFilter() throws Exception {
+        List<PlayerInfoTest> actual = walk("/rest/players?pageSize=2&banned=false&maxLevel=20");
+
+        assertEquals("Обход по курсору с фильтрами должен вернуть только подходящих игроков.",
+                testsHelper.getPlayerInfosByBaned(false, testsHelper.getPlayerInfosByMaxLevel(20, testsHelper.getAllPlayers())), actual);
+    }
+
+    //test4
+    @Test
+    public void malformedCursorReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/rest/players?cursor=%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    //test5
+    @Test
+    public void cursorOfOtherOrderReturnsBadRequest() throws Exception {
+        String cursor = mockMvc.perform(get("/rest/players?order=NAME"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(PlayerController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/rest/players?order=EXPERIENCE&cursor=" + cursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<PlayerInfoTest> walk(String url) throws Exception {
+        List<PlayerInfoTest> players = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletResponse response = mockMvc.perform(get(cursor == null ? url : url + "&cursor=" + cursor))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            players.addAll(mapper.readValue(response.getContentAsString(), typeReference));
+            cursor = response.getHeader(PlayerController.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+        return players;
+    }
+}
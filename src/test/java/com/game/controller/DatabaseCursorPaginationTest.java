@@ -0,0 +1,10 @@
+package com.game.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs {@link CursorPaginationTest} against the SQL search engine instead of the in-memory index.
+ */
+@TestPropertySource(properties = "search.engine=database")
+public class DatabaseCursorPaginationTest extends CursorPaginationTest {
+}
@@ -0,0 +1,78 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ExportTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void ndjsonContainsEveryPlayer() throws Exception {
+        MockHttpServletResponse response = export("");
+
+        assertTrue("Тип содержимого должен быть NDJSON.", response.getContentType().startsWith("application/x-ndjson"));
+        assertTrue("Ответ должен предлагаться как файл.", response.getHeader("Content-Disposition").contains("players.ndjson"));
+        List<PlayerInfoTest> actual = ndjson(response.getContentAsString());
+        assertEquals("Должны выгружаться все игроки.", testsHelper.getAllPlayers().size(), actual.size());
+    }
+
+    //test2
+    @Test
+    public void filterAndOrderAreApplied() throws Exception {
+        List<PlayerInfoTest> actual = ndjson(export("?race=ELF&order=EXPERIENCE").getContentAsString());
+
+        assertEquals("Должны выгружаться только подходящие игроки.",
+                testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size(), actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals("Выгружаться должны только эльфы.", Race.ELF, actual.get(i).race);
+            if (i > 0) assertTrue("Игроки должны идти по возрастанию опыта.", actual.get(i - 1).experience <= actual.get(i).experience);
+        }
+    }
+
+    //test3
+    @Test
+    public void csvHasHeaderAndOneRowPerPlayer() throws Exception {
+        MockHttpServletResponse response = export("?format=CSV&banned=true");
+
+        assertTrue("Тип содержимого должен быть CSV.", response.getContentType().startsWith("text/csv"));
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals("Первая строка должна быть заголовком.", PlayerExportWriter.CSV_HEADER, lines[0]);
+        assertEquals("Должна быть строка на каждого подходящего игрока.",
+                testsHelper.getPlayerInfosByBaned(true, testsHelper.getAllPlayers()).size(), lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            assertTrue("Выгружаться должны только забаненные игроки.", lines[i].contains(",true,"));
+        }
+    }
+
+    private MockHttpServletResponse export(String params) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/rest/players/export" + params))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        response.setCharacterEncoding("UTF-8");
+        return response;
+    }
+
+    private List<PlayerInfoTest> ndjson(String content) throws Exception {
+        List<PlayerInfoTest> players = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (!line.isEmpty()) players.add(mapper.readValue(line, PlayerInfoTest.class));
+        }
+        return players;
+    }
+}
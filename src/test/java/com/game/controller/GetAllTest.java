@@ -173,4 +173,24 @@ public class GetAllTest extends AbstractTest {
 
         assertEquals("Возвращается не правильный результат при запросе GET /rest/players с параметрами after, before, minExperience и maxExperience.", expected, actual);
     }
-}
\ No newline at end of file
+
+    //test9
+    @Test
+    public void getAllWithPageBeyondIntOffsetIsEmpty() throws Exception {
+        String contentAsString = mockMvc.perform(get("/rest/players?pageNumber=2147483647&pageSize=1000&name=и"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<PlayerInfoTest> actual = mapper.readValue(contentAsString, typeReference);
+        assertEquals("Страница со смещением больше int должна быть пустой.", 0, actual.size());
+    }
+
+    //test10
+    @Test
+    public void getAllWithInvalidPageIsRejected() throws Exception {
+        for (String page : new String[]{"pageSize=-1", "pageNumber=-1", "pageSize=1001"}) {
+            mockMvc.perform(get("/rest/players?" + page)).andExpect(status().isBadRequest());
+            mockMvc.perform(get("/rest/players/page?" + page)).andExpect(status().isBadRequest());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.PlayerPageInfoTest;
+import com.game.controller.utils.TestsHelper;
+
+import org.junit.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class GetPageTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void getPageWithoutFiltersReturnsFirstPageAndTotal() throws Exception {
+        ResultActions resultActions = mockMvc.perform(get("/rest/players/page"))
+                .andExpect(status().isOk());
+
+        String contentAsString = resultActions.andReturn().getResponse().getContentAsString();
+        PlayerPageInfoTest actual = mapper.readValue(contentAsString, PlayerPageInfoTest.class);
+        List<PlayerInfoTest> allPlayers = testsHelper.getAllPlayers();
+
+        assertEquals("Возвращается не правильная страница при запросе GET /rest/players/page.",
+                testsHelper.getPlayerInfosByPage(0, 3, allPlayers), actual.items);
+        assertEquals("Возвращается не правильное количество при запросе GET /rest/players/page.", (long) allPlayers.size(), actual.total);
+        assertEquals("Возвращается не правильное количество страниц при запросе GET /rest/players/page.", (allPlayers.size() + 2) / 3, actual.totalPages);
+    }
+
+    //test2
+    @Test
+    public void getPageWithFiltersNamePageNumber() throws Exception {
+        ResultActions resultActions = mockMvc.perform(get("/rest/players/page?name=ра&pageNumber=1"))
+                .andExpect(status().isOk());
+
+        String contentAsString = resultActions.andReturn().getResponse().getContentAsString();
+        PlayerPageInfoTest actual = mapper.readValue(contentAsString, PlayerPageInfoTest.class);
+        List<PlayerInfoTest> players = testsHelper.getPlayerInfosByName("ра", testsHelper.getAllPlayers());
+
+        assertEquals("Возвращается не правильная страница при запросе GET /rest/players/page с параметрами name и pageNumber.",
+                testsHelper.getPlayerInfosByPage(1, 3, players), actual.items);
+        assertEquals("Возвращается не правильное количество при запросе GET /rest/players/page с параметрами name и pageNumber.", (long) players.size(), actual.total);
+        assertEquals("Возвращается не правильный номер страницы при запросе GET /rest/players/page.", 1, actual.pageNumber);
+    }
+
+    //test3
+    @Test
+    public void getPageAfterLastPageReturnsEmptyItemsAndTotal() throws Exception {
+        ResultActions resultActions = mockMvc.perform(get("/rest/players/page?pageNumber=100&pageSize=5"))
+                .andExpect(status().isOk());
+
+        String contentAsString = resultActions.andReturn().getResponse().getContentAsString();
+        PlayerPageInfoTest actual = mapper.readValue(contentAsString, PlayerPageInfoTest.class);
+
+        assertEquals("Страница за пределами выборки должна быть пустой.", 0, actual.items.size());
+        assertEquals("Возвращается не правильное количество для страницы за пределами выборки.", (long) testsHelper.getAllPlayers().size(), actual.total);
+    }
+}
@@ -0,0 +1,139 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Race;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// small batches, so that an import spans several transactions
+@TestPropertySource(properties = "db.batch-size=3")
+public class ImportTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void exportedPlayersCanBeImported() throws Exception {
+        int elves = testsHelper.getPlayerInfosByRace(Race.ELF, testsHelper.getAllPlayers()).size();
+        String[] formats = {"NDJSON", "CSV"};
+        String[] exported = new String[formats.length];
+        for (int i = 0; i < formats.length; i++) {
+            exported[i] = mockMvc.perform(get("/rest/players/export?race=ELF&format=" + formats[i]))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < formats.length; i++) {
+            JsonNode actual = importPlayers(formats[i], exported[i]);
+
+            assertEquals("Должны импортироваться все выгруженные игроки.", elves, actual.get("imported").asInt());
+            assertEquals("Не должно быть отклонённых строк.", 0, actual.get("rejected").asInt());
+        }
+        assertEquals("Импортированные игроки должны находиться по фильтрам.", 3 * elves, count("?race=ELF"));
+        assertEquals("Остальные игроки не должны измениться.", testsHelper.getAllPlayers().size() + 2 * elves, count(""));
+    }
+
+    //test2
+    @Test
+    public void invalidLinesAreReported() throws Exception {
+        String content = TestsHelper.NORMAL_JSON + "\n"
+                + "{not json\n"
+                + "\n"
+                + TestsHelper.NEGATIVE_EXPERIENCE_JSON + "\n"
+                + TestsHelper.BANNED_TRUE_JSON + "\n";
+
+        JsonNode actual = importPlayers("NDJSON", content);
+
+        assertEquals("Должны импортироваться корректные строки.", 2, actual.get("imported").asInt());
+        assertEquals("Некорректные строки должны быть отклонены.", 2, actual.get("rejected").asInt());
+        JsonNode rejections = actual.get("rejections");
+        assertEquals("Должен указываться номер строки с ошибкой.", 2, rejections.get(0).get("line").asInt());
+        assertEquals("Пустые строки должны учитываться в нумерации.", 4, rejections.get(1).get("line").asInt());
+        assertEquals("Количество игроков должно вырасти на число импортированных.", testsHelper.getAllPlayers().size() + 2, count(""));
+    }
+
+    //test3
+    @Test
+    public void csvLevelIsCalculatedAndQuotesAreRead() throws Exception {
+        String content = "name,title,race,profession,birthday,banned,experience\n"
+                + "Импортёр,\"Первый, \"\"лучший\"\"\",HUMAN,WARRIOR,1041120000000,,123456\n";
+
+        JsonNode actual = importPlayers("CSV", content);
+
+        assertEquals("Игрок должен импортироваться.", 1, actual.get("imported").asInt());
+        String contentAsString = mockMvc.perform(get("/rest/players?name=Импортёр"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<PlayerInfoTest> players = mapper.readValue(contentAsString, mapper.getTypeFactory().constructCollectionType(List.class, PlayerInfoTest.class));
+        assertEquals("Игрок должен находиться по имени.", 1, players.size());
+        PlayerInfoTest player = players.get(0);
+        assertEquals("Кавычки и запятые в поле должны читаться.", "Первый, \"лучший\"", player.title);
+        assertEquals("Уровень должен вычисляться.", 49, player.level.intValue());
+        assertEquals("Опыт до следующего уровня должен вычисляться.", 4044, player.untilNextLevel.intValue());
+        assertEquals("Пустой признак бана означает false.", false, player.banned);
+    }
+
+    //test4
+    @Test
+    public void nullLineIsRejectedAndReadingGoesOn() throws Exception {
+        String content = TestsHelper.NORMAL_JSON + "\n"
+                + "null\n"
+                + "[1]\n"
+                + TestsHelper.BANNED_TRUE_JSON + "\n";
+
+        JsonNode actual = importPlayers("NDJSON", content);
+
+        assertEquals("Строки после null должны импортироваться.", 2, actual.get("imported").asInt());
+        assertEquals("Строки, не являющиеся объектами, должны быть отклонены.", 2, actual.get("rejected").asInt());
+        assertEquals("Должен указываться номер строки с null.", 2, actual.get("rejections").get(0).get("line").asInt());
+        assertEquals("Количество игроков должно вырасти на число импортированных.", testsHelper.getAllPlayers().size() + 2, count(""));
+    }
+
+    //test5
+    @Test
+    public void unclosedQuoteIsCutAtTheRecordLimit() throws Exception {
+        StringBuilder content = new StringBuilder("name,title,race,profession,birthday,banned,experience\n")
+                .append("Первый,Титул,HUMAN,WARRIOR,1041120000000,,100\n")
+                .append("Второй,\"никогда не закрывается");
+        char[] filler = new char[1000];
+        Arrays.fill(filler, 'ж');
+        // well past the limit, in lines of a thousand characters
+        for (int i = 0; i < 100; i++) content.append('\n').append(filler);
+        content.append("\nТретий,Титул,ELF,DRUID,1041120000000,,100\n");
+
+        JsonNode actual = importPlayers("CSV", content.toString());
+
+        assertEquals("Записи до и после слишком длинной должны импортироваться.", 2, actual.get("imported").asInt());
+        assertEquals("Слишком длинная запись должна быть отклонена с номером её первой строки.",
+                3, actual.get("rejections").get(0).get("line").asInt());
+    }
+
+    private JsonNode importPlayers(String format, String content) throws Exception {
+        String contentAsString = mockMvc.perform(post("/rest/players/import?format=" + format)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(content.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return mapper.readTree(contentAsString);
+    }
+
+    private int count(String filter) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get("/rest/players/count" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+}
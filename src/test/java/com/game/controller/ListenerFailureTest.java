@@ -0,0 +1,80 @@
+package com.game.controller;
+
+import com.game.service.PlayerChangeListener;
+import com.game.entity.Player;
+
+import org.junit.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ContextConfiguration(classes = ListenerFailureTest.FailingListenerConfig.class)
+public class ListenerFailureTest extends AbstractTest {
+
+    //test1
+    @Test
+    public void failingListenerDoesNotHideTheCommit() throws Exception {
+        String etag = mockMvc.perform(get("/rest/players/3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        FailingListener listener = context.getBean(FailingListener.class);
+        listener.reloaded = false;
+
+        mockMvc.perform(post("/rest/players/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Сбой\"}"))
+                .andExpect(status().isOk());
+
+        assertTrue("Слушатель, не принявший изменение, должен перестроиться.", listener.reloaded);
+        String player = mockMvc.perform(get("/rest/players/3").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue("Версия должна обновиться, несмотря на сбой слушателя.", player.contains("Сбой"));
+        assertTrue("Индекс должен получить изменение.", mockMvc.perform(get("/rest/players?name=Сбой"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().contains("Сбой"));
+    }
+
+    @Configuration
+    static class FailingListenerConfig {
+        @Bean
+        public FailingListener failingListener() {
+            return new FailingListener();
+        }
+    }
+
+    static class FailingListener implements PlayerChangeListener {
+        volatile boolean reloaded;
+
+        @Override
+        public void playerSaved(Player player) {
+            throw new IllegalStateException("Слушатель недоступен");
+        }
+
+        @Override
+        public void playerDeleted(long id) {
+        }
+
+        @Override
+        public void playersUpdated(List<Long> ids) {
+        }
+
+        @Override
+        public void playersDeleted(List<Long> ids) {
+        }
+
+        @Override
+        public void playersReloaded() {
+            reloaded = true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PlayerJsonCacheTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void repeatedListsAreAssembledFromCache() throws Exception {
+        String first = content("/rest/players?pageSize=20");
+        JsonNode before = statistics();
+
+        String second = content("/rest/players?pageSize=20");
+        JsonNode after = statistics();
+
+        assertEquals("Ответ из кэша должен совпадать с исходным.", first, second);
+        assertEquals("Все игроки страницы должны браться из кэша.", 20L, after.get("hits").asLong() - before.get("hits").asLong());
+        assertEquals("Повторный запрос не должен сериализовать игроков.", 0L, after.get("misses").asLong() - before.get("misses").asLong());
+        assertTrue("Доля попаданий должна считаться.", after.get("hitRatio").asDouble() > 0);
+        assertEquals("Игрок из кэша должен совпадать с игроком из списка.",
+                mapper.readTree(first).get(0), mapper.readTree(content("/rest/players/" + mapper.readTree(first).get(0).get("id").asLong())));
+    }
+
+    //test2
+    @Test
+    public void updatedPlayerIsSerializedAgain() throws Exception {
+        content("/rest/players/3");
+        content("/rest/players/3");
+
+        mockMvc.perform(post("/rest/players/3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Обновлённый\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("После изменения должен возвращаться новый титул.", "Обновлённый",
+                mapper.readTree(content("/rest/players/3")).get("title").asText());
+        boolean listed = false;
+        for (JsonNode player : mapper.readTree(content("/rest/players?title=Обновлённый"))) {
+            listed |= player.get("id").asLong() == 3;
+        }
+        assertTrue("Список должен содержать изменённого игрока.", listed);
+    }
+
+    //test3
+    @Test
+    public void deletedPlayerIsNotServed() throws Exception {
+        content("/rest/players/7");
+
+        mockMvc.perform(delete("/rest/players/7")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/rest/players/7")).andExpect(status().isNotFound());
+        for (JsonNode player : mapper.readTree(content("/rest/players?pageSize=100"))) {
+            assertTrue("Удалённый игрок не должен попадать в список.", player.get("id").asLong() != 7);
+        }
+    }
+
+    //test4
+    @Test
+    public void repeatedPagesAreAssembledFromCache() throws Exception {
+        String first = content("/rest/players/page?pageSize=20&order=LEVEL");
+        JsonNode before = statistics();
+
+        String second = content("/rest/players/page?pageSize=20&order=LEVEL");
+        JsonNode after = statistics();
+
+        assertEquals("Страница из кэша должна совпадать с исходной.", first, second);
+        assertEquals("Все игроки страницы должны браться из кэша.", 20L, after.get("hits").asLong() - before.get("hits").asLong());
+        assertEquals("Повторный запрос не должен сериализовать игроков.", 0L, after.get("misses").asLong() - before.get("misses").asLong());
+        byte[] serialized = mockMvc.perform(get("/rest/players/page?pageSize=20&order=LEVEL").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("Страница из фрагментов должна совпадать с сериализованной Jackson.",
+                new ObjectMapper(new CBORFactory()).readTree(serialized), mapper.readTree(first));
+    }
+
+    private String content(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private JsonNode statistics() throws Exception {
+        return mapper.readTree(content("/rest/stats/cache")).get("playerJson");
+    }
+}
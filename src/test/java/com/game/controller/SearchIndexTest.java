@@ -0,0 +1,210 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.game.controller.utils.PlayerInfoTest;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerService;
+import com.game.service.index.PlayerIndex;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class SearchIndexTest extends AbstractTest {
+
+    private final TestsHelper testsHelper = new TestsHelper();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final TypeReference<List<PlayerInfoTest>> typeReference = new TypeReference<List<PlayerInfoTest>>() {
+    };
+
+    //test1
+    @Test
+    public void createdPlayerIsFound() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+        String contentAsString = mockMvc.perform(post("/rest/players/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestsHelper.BANNED_TRUE_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        PlayerInfoTest created = mapper.readValue(contentAsString, PlayerInfoTest.class);
+
+        assertEquals("Созданный игрок должен учитываться в количестве.",
+                testsHelper.getAllPlayers().size() + 1, count(""));
+        List<PlayerInfoTest> actual = players("?name=Амарылис&banned=true");
+        assertEquals("Созданный игрок должен находиться по фильтрам.", 1, actual.size());
+        // the index holds the row as stored, and the birthday column keeps the date only
+        created.birthday = Instant.ofEpochMilli(created.birthday).atZone(ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.DAYS).toInstant().toEpochMilli();
+        assertEquals("Найденный игрок должен совпадать с созданным.", created, actual.get(0));
+    }
+
+    //test2
+    @Test
+    public void updatedPlayerIsFoundByNewValues() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Индекс\", \"banned\": true, \"experience\": 2500000}"))
+                .andExpect(status().isOk());
+
+        List<PlayerInfoTest> actual = players("?name=Индекс&banned=true&minLevel=200");
+        assertEquals("Обновлённый игрок должен находиться по новым значениям.", 1, actual.size());
+        assertEquals("Обновлённый игрок должен сохранить id.", 14L, actual.get(0).id);
+        List<PlayerInfoTest> byLevel = players("?order=LEVEL&pageSize=100");
+        assertEquals("Обновлённый игрок должен быть последним при сортировке по уровню.", 14L, byLevel.get(byLevel.size() - 1).id);
+    }
+
+    //test3
+    @Test
+    public void rejectedUpdateLeavesIndexUnchanged() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Индекс\", \"banned\": true, \"experience\": -1}"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals("Отклонённое обновление не должно попадать в индекс.", 0, count("?name=Индекс"));
+    }
+
+    //test4
+    @Test
+    public void deletedPlayerIsNotFound() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+        mockMvc.perform(delete("/rest/players/14")).andExpect(status().isOk());
+
+        assertEquals("Удалённый игрок не должен учитываться в количестве.",
+                testsHelper.getAllPlayers().size() - 1, count(""));
+        assertTrue("Удалённый игрок не должен возвращаться в списке.",
+                players("?pageSize=100").stream().noneMatch(player -> player.id == 14L));
+    }
+
+    //test5
+    @Test
+    public void updatedPlayerMovesBetweenValueCounts() throws Exception {
+        PlayerInfoTest player = testsHelper.getPlayerInfosById(14);
+        Race otherRace = player.race == Race.ELF ? Race.ORC : Race.ELF;
+        int oldRaceCount = count("?race=" + player.race);
+        int otherRaceCount = count("?race=" + otherRace + "&banned=" + !player.banned);
+
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"race\": \"" + otherRace + "\", \"banned\": " + !player.banned + "}"))
+                .andExpect(status().isOk());
+
+        assertEquals("Игрок должен перестать учитываться в старой расе.", oldRaceCount - 1, count("?race=" + player.race));
+        assertEquals("Игрок должен учитываться в новой расе и новом статусе бана.",
+                otherRaceCount + 1, count("?race=" + otherRace + "&banned=" + !player.banned));
+    }
+
+    //test6
+    @Test
+    public void substringSearchFollowsRenames() throws Exception {
+        assertEquals("Игрок должен находиться по подстроке титула.", 1, count("?title=жАжД"));
+
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Триграмм\", \"title\": \"Без жажды\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals("Старое имя не должно находиться после переименования.", 0, count("?name=Джур"));
+        assertEquals("Старый титул не должен находиться после переименования.", 0, count("?title=жАжД"));
+        assertEquals("Новое имя должно находиться по подстроке.", 1, count("?name=игра"));
+        assertEquals("Новый титул должен находиться по подстроке.", 1, count("?title=з жаж"));
+    }
+
+    //test7
+    @Test
+    public void levelOrderFollowsUpdates() throws Exception {
+        mockMvc.perform(get("/rest/players?order=LEVEL")).andExpect(status().isOk());
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"experience\": 0}"))
+                .andExpect(status().isOk());
+
+        List<PlayerInfoTest> actual = players("?order=LEVEL&pageSize=100");
+        List<PlayerInfoTest> expected = new ArrayList<>(actual);
+        expected.sort(Comparator.comparing((PlayerInfoTest player) -> player.level).thenComparing(player -> player.id));
+        assertEquals("Игроки должны быть отсортированы по уровню, затем по id.", expected, actual);
+        assertEquals("Игрок с нулевым опытом должен оказаться среди первых.", 0, actual.get(0).level.intValue());
+        assertEquals("Все игроки должны остаться в списке.", testsHelper.getAllPlayers().size(), actual.size());
+    }
+
+    //test8
+    @Test
+    public void selectivePagesFollowEveryOrder() throws Exception {
+        List<PlayerInfoTest> filtered = testsHelper.getPlayerInfosByProfession(Profession.CLERIC,
+                testsHelper.getPlayerInfosByRace(Race.DWARF, testsHelper.getAllPlayers()));
+        for (PlayerOrder order : PlayerOrder.values()) {
+            List<PlayerInfoTest> expected = new ArrayList<>(filtered);
+            expected.sort(comparator(order).thenComparing(player -> player.id));
+
+            List<PlayerInfoTest> actual = new ArrayList<>();
+            for (int pageNumber = 0; pageNumber <= expected.size(); pageNumber++) {
+                actual.addAll(players("?race=DWARF&profession=CLERIC&pageSize=1&pageNumber=" + pageNumber + "&order=" + order));
+            }
+
+            assertEquals("Постраничный вывод с order=" + order + " должен идти в порядке сортировки.", expected, actual);
+        }
+    }
+
+    //test9
+    @Test
+    public void lateNotificationKeepsTheCommittedRow() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+        Player stale = context.getBean(PlayerService.class).getPlayerById(14L);
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Поздний\"}"))
+                .andExpect(status().isOk());
+
+        // the notification of an earlier transaction, arriving after the one of the last commit
+        context.getBean(PlayerIndex.class).playerSaved(stale);
+
+        assertEquals("Индекс должен хранить последнюю закоммиченную версию игрока.", 1, count("?name=Поздний"));
+    }
+
+    private static Comparator<PlayerInfoTest> comparator(PlayerOrder order) {
+        switch (order) {
+            case NAME:
+                return Comparator.comparing(player -> player.name);
+            case EXPERIENCE:
+                return Comparator.comparing(player -> player.experience);
+            case BIRTHDAY:
+                return Comparator.comparing(player -> player.birthday);
+            case LEVEL:
+                return Comparator.comparing(player -> player.level);
+            default:
+                return Comparator.comparing(player -> player.id);
+        }
+    }
+
+    private int count(String filter) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get("/rest/players/count" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private List<PlayerInfoTest> players(String filter) throws Exception {
+        String contentAsString = mockMvc.perform(get("/rest/players" + filter))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readValue(contentAsString, typeReference);
+    }
+}
@@ -0,0 +1,79 @@
+package com.game.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the query cache is only used when listings and counts are answered by SQL
+@TestPropertySource(properties = "search.engine=database")
+public class StatsTest extends AbstractTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    //test1
+    @Test
+    public void poolStatisticsAreExposed() throws Exception {
+        mockMvc.perform(get("/rest/players/count")).andExpect(status().isOk());
+
+        String contentAsString = mockMvc.perform(get("/rest/stats/pool"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode actual = mapper.readTree(contentAsString);
+
+        assertTrue("Пул соединений должен быть открыт.", actual.get("total").asInt() > 0);
+        assertTrue("Максимальный размер пула должен быть задан.", actual.get("maximumSize").asInt() > 0);
+        assertTrue("Получение соединений из пула должно учитываться.", actual.get("acquireCount").asLong() > 0);
+    }
+
+    //test2
+    @Test
+    public void repeatedReadsAreServedFromCache() throws Exception {
+        JsonNode before = cacheStatistics();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/rest/players/14")).andExpect(status().isOk());
+            mockMvc.perform(get("/rest/players/count?race=ELF")).andExpect(status().isOk());
+        }
+        JsonNode after = cacheStatistics();
+
+        assertTrue("Повторное чтение игрока должно обслуживаться из кэша.",
+                after.at("/player/hits").asLong() - before.at("/player/hits").asLong() >= 2);
+        assertTrue("Повторный запрос количества должен обслуживаться из кэша запросов.",
+                after.at("/query/hits").asLong() - before.at("/query/hits").asLong() >= 2);
+    }
+
+    //test3
+    @Test
+    public void cachedPlayerIsUpdatedAndEvicted() throws Exception {
+        mockMvc.perform(get("/rest/players/14")).andExpect(status().isOk());
+        mockMvc.perform(post("/rest/players/14")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Кэш\"}"))
+                .andExpect(status().isOk());
+
+        String contentAsString = mockMvc.perform(get("/rest/players/14"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("После обновления должен возвращаться новый игрок, а не закэшированный.", "Кэш", mapper.readTree(contentAsString).get("name").asText());
+
+        mockMvc.perform(delete("/rest/players/14")).andExpect(status().isOk());
+        mockMvc.perform(get("/rest/players/14")).andExpect(status().isNotFound());
+    }
+
+    private JsonNode cacheStatistics() throws Exception {
+        String contentAsString = mockMvc.perform(get("/rest/stats/cache"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return mapper.readTree(contentAsString);
+    }
+}
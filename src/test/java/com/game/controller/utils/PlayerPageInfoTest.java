@@ -0,0 +1,12 @@
+package com.game.controller.utils;
+
+import java.util.List;
+
+public class PlayerPageInfoTest {
+    public List<PlayerInfoTest> items;
+    public long total;
+    public int pageNumber;
+    public int pageSize;
+    public int totalPages;
+    public String nextCursor;
+}
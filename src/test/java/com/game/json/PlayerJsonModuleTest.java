@@ -0,0 +1,76 @@
+package com.game.json;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.game.config.WebConfig;
+import com.game.controller.utils.TestsHelper;
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+
+import org.junit.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+import static org.springframework.test.util.AssertionErrors.fail;
+
+public class PlayerJsonModuleTest {
+
+    private final ObjectMapper codec = WebConfig.configure(Jackson2ObjectMapperBuilder.json().build());
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+    //test1
+    @Test
+    public void writesTheSameJsonAsTheBeanSerializer() throws Exception {
+        Player full = new Player();
+        full.setId(Long.MAX_VALUE);
+        full.setName("Ниус \"Кавычки\"");
+        full.setTitle("Приходящий\nБез Шума");
+        full.setRace(Race.HOBBIT);
+        full.setProfession(Profession.NAZGUL);
+        full.setExperience(10000000);
+        full.setLevel(446);
+        full.setUntilNextLevel(3700);
+        full.setBirthday(new Timestamp(988059600000L));
+        full.setBanned(true);
+
+        for (Player player : new Player[]{full, new Player()}) {
+            assertEquals("Кодек должен писать тот же JSON.", reflective.writeValueAsString(player), codec.writeValueAsString(player));
+        }
+    }
+
+    //test2
+    @Test
+    public void readsTheSameJsonAsTheBeanDeserializer() throws Exception {
+        String[] inputs = {
+                TestsHelper.NORMAL_JSON,
+                TestsHelper.BANNED_TRUE_JSON,
+                "{}",
+                "{\"id\": \"12\", \"experience\": \"500\", \"banned\": \"true\", \"birthday\": \"2001-04-23T21:00:00.000+0000\"}",
+                "{\"name\": null, \"unknown\": {\"nested\": [1, 2]}, \"level\": 3, \"race\": \"ORC\"}"
+        };
+        for (String input : inputs) {
+            assertEquals("Кодек должен читать тот же JSON: " + input,
+                    reflective.writeValueAsString(reflective.readValue(input, Player.class)),
+                    reflective.writeValueAsString(codec.readValue(input, Player.class)));
+        }
+    }
+
+    //test3
+    @Test
+    public void rejectsWhatTheBeanDeserializerRejects() throws Exception {
+        try {
+            codec.readValue("{\"race\": \"DRAGON\"}", Player.class);
+            fail("Неизвестная раса должна отклоняться.");
+        }
+        catch (InvalidFormatException expected) {
+            // the same exception as from the bean deserializer
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.game.service.index;
+
+import com.game.controller.PlayerOrder;
+import com.game.entity.Player;
+import com.game.service.PlayerCursor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.springframework.test.util.AssertionErrors.assertEquals;
+
+public class OrderIndexTest {
+
+    private final Random random = new Random(7);
+
+    //test1
+    @Test
+    public void walksLikeASortedSetThroughChangesAndMerges() {
+        for (PlayerOrder order : PlayerOrder.values()) {
+            PlayerColumns columns = new PlayerColumns(16);
+            // a tiny buffer, so that the run is merged again every few changes
+            OrderIndex index = new OrderIndex(columns, order, 4);
+            TreeSet<Integer> expected = new TreeSet<>(index::compare);
+            List<Long> ids = new ArrayList<>();
+
+            for (int step = 0; step < 2000; step++) {
+                int change = ids.isEmpty() ? 0 : random.nextInt(3);
+                if (change == 0) {
+                    long id = step + 1;
+                    int slot = columns.put(player(id));
+                    index.add(slot);
+                    expected.add(slot);
+                    ids.add(id);
+                }
+                else {
+                    long id = ids.get(random.nextInt(ids.size()));
+                    int slot = columns.slotOf(id);
+                    index.remove(slot);
+                    expected.remove(slot);
+                    if (change == 1) {
+                        columns.put(player(id));
+                        index.add(slot);
+                        expected.add(slot);
+                    }
+                    else {
+                        columns.remove(id);
+                        ids.remove(id);
+                    }
+                }
+                if (random.nextInt(10) == 0) {
+                    index.flush();
+                    assertEquals("Порядок " + order + " должен совпадать с отсортированным множеством.",
+                            new ArrayList<>(expected), walk(index.after(null)));
+                    if (!expected.isEmpty()) {
+                        int from = new ArrayList<>(expected).get(random.nextInt(expected.size()));
+                        PlayerCursor cursor = PlayerCursor.after(columns.toPlayer(from), order);
+                        assertEquals("Порядок " + order + " после курсора должен продолжаться со следующего игрока.",
+                                new ArrayList<>(expected.tailSet(from, false)), walk(index.after(cursor)));
+                    }
+                }
+            }
+        }
+    }
+
+    private Player player(long id) {
+        Player player = new Player();
+        player.setId(id);
+        // few distinct values, so that many players tie on the key and are ordered by id
+        player.setName(random.nextInt(8) == 0 ? null : "Игрок" + random.nextInt(20));
+        player.setBirthday(new Date(random.nextInt(20) * 86_400_000L));
+        player.setExperience(random.nextInt(20));
+        player.setLevel(random.nextInt(20));
+        player.setBanned(false);
+        return player;
+    }
+
+    private static List<Integer> walk(PrimitiveIterator.OfInt slots) {
+        List<Integer> walked = new ArrayList<>();
+        while (slots.hasNext()) walked.add(slots.nextInt());
+        return walked;
+    }
+}
@@ -0,0 +1,71 @@
+package com.game.testdata;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.game.entity.Player;
+import com.game.entity.Profession;
+import com.game.entity.Race;
+import com.game.service.PlayerRules;
+
+/**
+ * A reproducible dataset of valid players of any size, for the benchmarks and the load tests,
+ * which get it from the test-data jar of this module. The rows are inserted with plain JDBC
+ * batches, behind the back of the application, which has to be refreshed afterwards.
+ */
+public final class SyntheticPlayers {
+
+	private static final String[] SYLLABLES = {"ар", "ни", "ус", "кра", "шш", "ол", "ри", "да", "эль", "гор", "мир", "ва", "ла", "тор", "ин"};
+	private static final String[] TITLES = {"Приходящий Без Шума", "НайтВульф", "Прозелит", "Иероглиф", "Страж", "Убийца драконов", "Хранитель"};
+	private static final long FIRST_BIRTHDAY = 946684800000L; // 2000-01-01
+	private static final long BIRTHDAY_RANGE = 10L * 365 * 24 * 60 * 60 * 1000;
+	private static final int INSERT_BATCH = 10_000;
+	private static final String INSERT = "INSERT INTO player(name, title, race, profession, birthday, banned, experience, level, untilNextLevel)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private SyntheticPlayers() {}
+
+	/**
+	 * Inserts {@code count} players, the same ones on every call.
+	 */
+	public static void insert(DataSource dataSource, int count) {
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		Random random = new Random(42);
+		List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+		Player player = new Player();
+		for (int i = 0; i < count; i++) {
+			player.setExperience(random.nextInt(PlayerRules.MAX_EXPERIENCE + 1));
+			PlayerRules.calculateLevel(player);
+			batch.add(new Object[]{
+					name(random),
+					TITLES[random.nextInt(TITLES.length)],
+					Race.values()[random.nextInt(Race.values().length)].name(),
+					Profession.values()[random.nextInt(Profession.values().length)].name(),
+					new Date(FIRST_BIRTHDAY + (long) (random.nextDouble() * BIRTHDAY_RANGE)),
+					random.nextInt(5) == 0,
+					player.getExperience(),
+					player.getLevel(),
+					player.getUntilNextLevel()});
+			if (batch.size() == INSERT_BATCH || i == count - 1) {
+				jdbc.batchUpdate(INSERT, batch);
+				batch.clear();
+			}
+		}
+	}
+
+	private static String name(Random random) {
+		StringBuilder name = new StringBuilder();
+		int syllables = 2 + random.nextInt(3);
+		for (int i = 0; i < syllables && name.length() < 9; i++) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+		return name.toString();
+	}
+}